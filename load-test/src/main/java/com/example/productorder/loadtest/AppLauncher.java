@@ -0,0 +1,113 @@
+package com.example.productorder.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Boots the packaged API in a child JVM on the H2 {@code test} profile so that a load run
+ * does not depend on MySQL, with optional Redis and S3 stand-ins from {@code docker-compose.yml}.
+ */
+public class AppLauncher implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final Process process;
+    private final String baseUrl;
+
+    private AppLauncher(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    public static AppLauncher start(LoadTestConfig config) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar", config.appJar().toAbsolutePath().toString(),
+                "--spring.profiles.active=test",
+                "--server.port=" + port,
+                "--spring.jpa.show-sql=false",
+                "--spring.data.elasticsearch.repositories.enabled=false",
+                "--logging.level.com.example.productorder=WARN"));
+
+        if (config.redis()) {
+            command.add("--app.redis.enabled=true");
+            command.add("--spring.data.redis.host=localhost");
+            command.add("--spring.data.redis.port=6379");
+        }
+        if (config.s3Endpoint() != null) {
+            command.add("--aws.s3.enabled=true");
+            command.add("--aws.s3.endpoint=" + config.s3Endpoint());
+            command.add("--aws.s3.bucket-name=load-test");
+            command.add("--aws.s3.access-key=loadtest");
+            command.add("--aws.s3.secret-key=loadtest-secret");
+        }
+
+        Files.createDirectories(Path.of("target"));
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(Path.of("target", "app-under-test.log").toFile())
+                .start();
+
+        AppLauncher launcher = new AppLauncher(process, "http://localhost:" + port);
+        launcher.awaitReady();
+        return launcher;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    private void awaitReady() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("API exited during startup, see target/app-under-test.log");
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(500);
+        }
+        close();
+        throw new IllegalStateException("API did not become ready within " + STARTUP_TIMEOUT);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.productorder.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options for {@link LoadTestRunner}.
+ *
+ * <pre>
+ * --base-url=http://localhost:8086   API to drive (ignored when --app-jar boots a local instance)
+ * --app-jar=../target/product-order-api-1.0.0.jar   boot the API on H2 before the run
+ * --redis=true                       boot with app.redis.enabled=true against localhost:6379
+ * --s3-endpoint=http://localhost:9000   boot with S3 pointed at a MinIO stand-in and enable uploads
+ * --concurrency=32                   virtual users
+ * --warmup=10s --duration=60s        warm-up is driven but not recorded
+ * --mix=browse:50,view:20,search:15,checkout:10,cancel:5,upload:0
+ * --report=target/load-report.json
+ * </pre>
+ */
+public record LoadTestConfig(
+        String baseUrl,
+        Path appJar,
+        boolean redis,
+        String s3Endpoint,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Map<String, Integer> mix,
+        Path report) {
+
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+
+        String appJar = options.get("app-jar");
+        return new LoadTestConfig(
+                options.getOrDefault("base-url", "http://localhost:8086"),
+                appJar == null ? null : Path.of(appJar),
+                Boolean.parseBoolean(options.getOrDefault("redis", "false")),
+                options.get("s3-endpoint"),
+                Integer.parseInt(options.getOrDefault("concurrency", "32")),
+                parseDuration(options.getOrDefault("warmup", "10s")),
+                parseDuration(options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", "browse:50,view:20,search:15,checkout:10,cancel:5,upload:0")),
+                Path.of(options.getOrDefault("report", "target/load-report.json")));
+    }
+
+    private static Duration parseDuration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value));
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + part);
+            }
+            mix.put(pair[0].trim(), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.productorder.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Drives a mixed read/search/checkout/cancel workload with a fixed number of virtual users and
+ * writes per-endpoint throughput, latency percentiles and error rates as JSON.
+ *
+ * <pre>
+ * mvn -f load-test/pom.xml compile exec:java -Dexec.args="--app-jar=../target/product-order-api-1.0.0.jar --duration=60s"
+ * </pre>
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.parse(args);
+        Files.createDirectories(config.report().toAbsolutePath().getParent());
+
+        AppLauncher launcher = config.appJar() != null ? AppLauncher.start(config) : null;
+        try {
+            String baseUrl = launcher != null ? launcher.baseUrl() : config.baseUrl();
+            run(config, baseUrl);
+        } finally {
+            if (launcher != null) {
+                launcher.close();
+            }
+        }
+    }
+
+    private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        Workload workload = new Workload(client, baseUrl, config.mix());
+        workload.seed();
+
+        System.out.printf("Warming up %s for %s with %d users%n", baseUrl, config.warmup(), config.concurrency());
+        drive(workload, config.concurrency(), config.warmup(), Workload.newStats());
+
+        System.out.printf("Measuring for %s%n", config.duration());
+        Map<String, EndpointStats> stats = Workload.newStats();
+        Instant startedAt = Instant.now();
+        long elapsedNanos = drive(workload, config.concurrency(), config.duration(), stats);
+
+        ObjectNode report = buildReport(config, baseUrl, startedAt, elapsedNanos, stats);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(config.report().toFile(), report);
+        printSummary(stats, elapsedNanos);
+        System.out.printf("Report written to %s%n", config.report().toAbsolutePath());
+    }
+
+    private static long drive(Workload workload, int users, Duration duration, Map<String, EndpointStats> stats)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(users);
+        for (int i = 0; i < users; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    workload.runOnce(stats);
+                }
+            }, "load-user-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static ObjectNode buildReport(LoadTestConfig config, String baseUrl, Instant startedAt,
+                                          long elapsedNanos, Map<String, EndpointStats> stats) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        ObjectMapper mapper = new ObjectMapper();
+        ObjectNode report = mapper.createObjectNode();
+        report.put("baseUrl", baseUrl);
+        report.put("startedAt", startedAt.toString());
+        report.put("durationSeconds", seconds);
+        report.put("concurrency", config.concurrency());
+        report.putPOJO("mix", config.mix());
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        ObjectNode endpoints = report.putObject("endpoints");
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(stats).entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            totalRequests += endpoint.requests();
+            totalErrors += endpoint.errors();
+
+            ObjectNode node = endpoints.putObject(entry.getKey());
+            node.put("requests", endpoint.requests());
+            node.put("errors", endpoint.errors());
+            node.put("errorRate", endpoint.requests() == 0 ? 0 : (double) endpoint.errors() / endpoint.requests());
+            node.put("rps", endpoint.requests() / seconds);
+            ObjectNode latency = node.putObject("latencyMillis");
+            latency.put("mean", endpoint.meanMillis());
+            latency.put("p50", endpoint.percentileMillis(50));
+            latency.put("p99", endpoint.percentileMillis(99));
+            latency.put("p999", endpoint.percentileMillis(99.9));
+            latency.put("max", endpoint.maxMillis());
+        }
+
+        ObjectNode totals = report.putObject("totals");
+        totals.put("requests", totalRequests);
+        totals.put("errors", totalErrors);
+        totals.put("errorRate", totalRequests == 0 ? 0 : (double) totalErrors / totalRequests);
+        totals.put("rps", totalRequests / seconds);
+        return report;
+    }
+
+    private static void printSummary(Map<String, EndpointStats> stats, long elapsedNanos) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%n%-32s %10s %9s %9s %9s %9s %8s%n", "endpoint", "requests", "rps", "p50 ms", "p99 ms", "p999 ms", "errors");
+        new TreeMap<>(stats).forEach((name, endpoint) -> System.out.printf("%-32s %10d %9.1f %9.2f %9.2f %9.2f %8d%n",
+                name, endpoint.requests(), endpoint.requests() / seconds,
+                endpoint.percentileMillis(50), endpoint.percentileMillis(99), endpoint.percentileMillis(99.9),
+                endpoint.errors()));
+    }
+}
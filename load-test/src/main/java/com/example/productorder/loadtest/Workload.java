@@ -0,0 +1,198 @@
+package com.example.productorder.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix replayed by each virtual user. Operations mirror {@code api-test.http}
+ * and {@code api-test-upload.http}: catalog browsing, product detail, search, checkout,
+ * cancellation and image upload.
+ */
+public class Workload {
+
+    private static final int SEED_PRODUCTS = 50;
+    private static final String[] SEARCH_TERMS = {"Load", "iPhone", "Samsung", "MacBook", "product"};
+    // 1x1 transparent PNG
+    private static final byte[] TINY_PNG = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+    private final String[] operations;
+    private final List<Long> productIds = new ArrayList<>();
+    private final Queue<Long> openOrders = new ConcurrentLinkedQueue<>();
+
+    public Workload(HttpClient client, String baseUrl, Map<String, Integer> mix) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.operations = expandMix(mix);
+    }
+
+    /**
+     * Creates dedicated products with effectively unlimited stock so checkout traffic is not
+     * turned into insufficient-stock errors by the small seed catalog.
+     */
+    public void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < SEED_PRODUCTS; i++) {
+            ObjectNode body = mapper.createObjectNode()
+                    .put("name", "Load test product " + i)
+                    .put("description", "Product created by the load test harness")
+                    .put("price", 10 + i)
+                    .put("stock", 1_000_000_000);
+            HttpResponse<String> response = client.send(json("POST", "/api/products", body),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Seeding failed: " + response.statusCode() + " " + response.body());
+            }
+            productIds.add(mapper.readTree(response.body()).get("id").asLong());
+        }
+    }
+
+    public void runOnce(Map<String, EndpointStats> stats) {
+        String operation = operations[ThreadLocalRandom.current().nextInt(operations.length)];
+        switch (operation) {
+            case "browse" -> send(stats, "GET /api/products", get("/api/products"));
+            case "view" -> send(stats, "GET /api/products/{id}", get("/api/products/" + randomProductId()));
+            case "search" -> send(stats, "GET /api/products/search",
+                    get("/api/products/search?name=" + URLEncoder.encode(randomSearchTerm(), StandardCharsets.UTF_8)));
+            case "checkout" -> checkout(stats);
+            case "cancel" -> cancel(stats);
+            case "upload" -> send(stats, "POST /api/upload/image", upload());
+            default -> throw new IllegalArgumentException("Unknown operation: " + operation);
+        }
+    }
+
+    private void checkout(Map<String, EndpointStats> stats) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ObjectNode body = mapper.createObjectNode()
+                .put("customerName", "Load Test User")
+                .put("customerEmail", "load" + random.nextInt(10_000) + "@example.com")
+                .put("customerPhone", "0987654321");
+        ArrayNode items = body.putArray("items");
+        int lines = 1 + random.nextInt(3);
+        for (int i = 0; i < lines; i++) {
+            items.addObject()
+                    .put("productId", randomProductId())
+                    .put("quantity", 1 + random.nextInt(3));
+        }
+
+        HttpResponse<String> response = send(stats, "POST /api/orders", json("POST", "/api/orders", body));
+        if (response != null && response.statusCode() == 201) {
+            try {
+                openOrders.add(mapper.readTree(response.body()).get("id").asLong());
+            } catch (IOException e) {
+                // Counted as a success by status code; the order just won't be cancelled later
+            }
+        }
+    }
+
+    private void cancel(Map<String, EndpointStats> stats) {
+        Long orderId = openOrders.poll();
+        if (orderId == null) {
+            // Nothing to cancel yet, keep the request rate by placing an order instead
+            checkout(stats);
+            return;
+        }
+        send(stats, "GET /api/orders/{id}", get("/api/orders/" + orderId));
+        send(stats, "POST /api/orders/{id}/cancel", request("POST", "/api/orders/" + orderId + "/cancel",
+                HttpRequest.BodyPublishers.noBody(), null));
+    }
+
+    private HttpResponse<String> send(Map<String, EndpointStats> stats, String endpoint, HttpRequest request) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            endpointStats.record(System.nanoTime() - start, response.statusCode() < 400);
+            return response;
+        } catch (IOException e) {
+            endpointStats.record(System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return request("GET", path, HttpRequest.BodyPublishers.noBody(), null);
+    }
+
+    private HttpRequest json(String method, String path, JsonNode body) {
+        try {
+            return request(method, path, HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)),
+                    "application/json");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest upload() {
+        String boundary = "LoadTestBoundary" + ThreadLocalRandom.current().nextLong(Long.MAX_VALUE);
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load-test.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(TINY_PNG);
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        return request("POST", "/api/upload/image", HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()),
+                "multipart/form-data; boundary=" + boundary);
+    }
+
+    private HttpRequest request(String method, String path, HttpRequest.BodyPublisher body, String contentType) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Accept", "application/json")
+                .method(method, body);
+        if (contentType != null) {
+            builder.header("Content-Type", contentType);
+        }
+        return builder.build();
+    }
+
+    private long randomProductId() {
+        return productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+    }
+
+    private static String randomSearchTerm() {
+        return SEARCH_TERMS[ThreadLocalRandom.current().nextInt(SEARCH_TERMS.length)];
+    }
+
+    private static String[] expandMix(Map<String, Integer> mix) {
+        List<String> expanded = new ArrayList<>();
+        mix.forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                expanded.add(operation);
+            }
+        });
+        if (expanded.isEmpty()) {
+            throw new IllegalArgumentException("Workload mix has no operations");
+        }
+        return expanded.toArray(String[]::new);
+    }
+
+    static Map<String, EndpointStats> newStats() {
+        return new ConcurrentHashMap<>();
+    }
+}
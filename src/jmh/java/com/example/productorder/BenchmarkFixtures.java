@@ -0,0 +1,74 @@
+package com.example.productorder;
+
+import com.example.productorder.model.Order;
+import com.example.productorder.model.OrderItem;
+import com.example.productorder.model.Product;
+import com.example.productorder.money.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory entities shared by the JMH benchmarks so that mapping and serialization
+ * costs can be measured without a database.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Benchmark product " + id);
+        product.setDescription("Benchmark product " + id + ": flagship device with a 6.1-inch display, "
+                + "all-day battery, triple camera system, fast charging and a titanium frame. "
+                + "Ships with a one year warranty and free returns within thirty days.");
+        product.setPrice(new BigDecimal("199.99").add(BigDecimal.valueOf(id)));
+        product.setStock(1000);
+        product.setImageUrl("https://images.unsplash.com/photo-" + id + "?w=400");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        return product;
+    }
+
+    public static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    public static Order order(int itemCount) {
+        Order order = new Order();
+        order.setId(1L);
+        order.setOrderNumber("ORD-20240101120000-ABCDEF");
+        order.setCustomerName("Nguyen Van A");
+        order.setCustomerEmail("nguyenvana@example.com");
+        order.setCustomerPhone("0987654321");
+        order.setStatus(Order.OrderStatus.PENDING);
+        order.setCurrency("USD");
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+
+        long total = 0;
+        for (int i = 1; i <= itemCount; i++) {
+            Product product = product(i);
+            OrderItem item = new OrderItem();
+            item.setId((long) i);
+            item.setOrder(order);
+            item.setProduct(product);
+            item.setQuantity(2);
+            item.setPriceMinor(Money.toMinor(product.getPrice()));
+            item.setDiscountMinor(0);
+            item.setSubtotalMinor(item.getPriceMinor() * 2);
+            order.getItems().add(item);
+            total += item.getSubtotalMinor();
+        }
+        order.setTotalAmountMinor(total);
+        return order;
+    }
+}
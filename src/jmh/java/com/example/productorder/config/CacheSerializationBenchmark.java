@@ -0,0 +1,88 @@
+package com.example.productorder.config;
+
+import com.example.productorder.BenchmarkFixtures;
+import com.example.productorder.cache.ProductCacheSerializer;
+import com.example.productorder.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip cost and payload size of the cache value serializers selectable through
+ * {@code app.cache.serializer} for a single cached product and for the {@code 'all'} catalog list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheSerializationBenchmark {
+
+    @Param({"json", "compact"})
+    private String format;
+
+    @Param({"100"})
+    private int catalogSize;
+
+    private RedisSerializer<Object> serializer;
+    private Product product;
+    private List<Product> catalog;
+    private byte[] productBytes;
+    private byte[] catalogBytes;
+
+    @Setup
+    public void setUp() {
+        serializer = "compact".equals(format)
+                ? new ProductCacheSerializer(RedisConfig.jsonRedisSerializer(), 1024)
+                : RedisConfig.jsonRedisSerializer();
+        product = BenchmarkFixtures.product(1L);
+        catalog = BenchmarkFixtures.products(catalogSize);
+        productBytes = serializer.serialize(product);
+        catalogBytes = serializer.serialize(catalog);
+        System.out.printf("%n%s payload: product=%d bytes, catalog(%d)=%d bytes%n",
+                format, productBytes.length, catalogSize, catalogBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() {
+        return serializer.serialize(product);
+    }
+
+    @Benchmark
+    public Object deserializeProduct() {
+        return serializer.deserialize(productBytes);
+    }
+
+    @Benchmark
+    public Object roundTripProduct() {
+        return serializer.deserialize(serializer.serialize(product));
+    }
+
+    @Benchmark
+    public byte[] serializeCatalog() {
+        return serializer.serialize(catalog);
+    }
+
+    @Benchmark
+    public Object deserializeCatalog() {
+        return serializer.deserialize(catalogBytes);
+    }
+
+    @Benchmark
+    public Object roundTripCatalog() {
+        return serializer.deserialize(serializer.serialize(catalog));
+    }
+}
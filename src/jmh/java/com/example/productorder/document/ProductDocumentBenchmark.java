@@ -0,0 +1,40 @@
+package com.example.productorder.document;
+
+import com.example.productorder.BenchmarkFixtures;
+import com.example.productorder.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of converting a {@link Product} entity into its Elasticsearch document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductDocumentBenchmark {
+
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkFixtures.product(42L);
+    }
+
+    @Benchmark
+    public ProductDocument fromProduct() {
+        return ProductDocument.fromProduct(product);
+    }
+}
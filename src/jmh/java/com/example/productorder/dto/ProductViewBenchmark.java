@@ -0,0 +1,79 @@
+package com.example.productorder.dto;
+
+import com.example.productorder.BenchmarkFixtures;
+import com.example.productorder.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Payload size and serialization time of the product list views: the JPA entity as it used to be
+ * returned, the full DTO, the compact summary and a sparse fieldset.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductViewBenchmark {
+
+    private static final Set<String> SPARSE_FIELDS = Set.of("id", "name", "price");
+
+    @Param({"entity", "full", "summary", "sparse"})
+    private String view;
+
+    @Param({"100", "1000"})
+    private int catalogSize;
+
+    // Same date handling as the application's Jackson setup
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<Product> products;
+    private List<?> mapped;
+
+    @Setup
+    public void setUp() throws Exception {
+        products = BenchmarkFixtures.products(catalogSize);
+        mapped = map();
+        System.out.printf("%n%s view: %d products = %d bytes%n",
+                view, catalogSize, objectMapper.writeValueAsBytes(mapped).length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapped);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(map());
+    }
+
+    private List<?> map() {
+        return switch (view) {
+            case "entity" -> products;
+            case "full" -> products.stream().map(ProductResponseDTO::fromProduct).toList();
+            case "summary" -> products.stream().map(ProductSummaryDTO::fromProduct).toList();
+            case "sparse" -> ProductFields.select(products, SPARSE_FIELDS);
+            default -> throw new IllegalArgumentException(view);
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.productorder.money;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checkout total computation for a basket: the previous {@link BigDecimal} path (multiply and add
+ * per line) against {@link Money} minor units, both starting from catalog prices as decimals and
+ * producing per-line subtotals and the order total. Run with {@code -prof gc} to compare allocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int basketSize;
+
+    private BigDecimal[] prices;
+    private long[] minorPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        prices = new BigDecimal[basketSize];
+        minorPrices = new long[basketSize];
+        quantities = new int[basketSize];
+        for (int i = 0; i < basketSize; i++) {
+            // Loaded from DECIMAL(19, 2), so every price has scale 2
+            prices[i] = BigDecimal.valueOf(random.nextLong(100, 500_000), Money.SCALE);
+            minorPrices[i] = Money.toMinor(prices[i]);
+            quantities[i] = random.nextInt(1, 10);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal(Blackhole blackhole) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < basketSize; i++) {
+            BigDecimal subtotal = prices[i].multiply(BigDecimal.valueOf(quantities[i]));
+            blackhole.consume(subtotal);
+            total = total.add(subtotal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long minorUnits(Blackhole blackhole) {
+        long total = 0;
+        for (int i = 0; i < basketSize; i++) {
+            long subtotal = Money.times(Money.toMinor(prices[i]), quantities[i]);
+            blackhole.consume(subtotal);
+            total = Money.plus(total, subtotal);
+        }
+        return total;
+    }
+
+    // Prices already held as minor units: the arithmetic alone
+    @Benchmark
+    public long minorUnitsPreconverted(Blackhole blackhole) {
+        long total = 0;
+        for (int i = 0; i < basketSize; i++) {
+            long subtotal = Money.times(minorPrices[i], quantities[i]);
+            blackhole.consume(subtotal);
+            total = Money.plus(total, subtotal);
+        }
+        return total;
+    }
+
+    // Response mapping: every amount converted back to a decimal at the API boundary
+    @Benchmark
+    public void toDecimal(Blackhole blackhole) {
+        for (int i = 0; i < basketSize; i++) {
+            blackhole.consume(Money.toDecimal(minorPrices[i] * quantities[i]));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.productorder.promotion;
+
+import com.example.productorder.model.Promotion;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the promotion engine adds to a checkout: evaluating a basket against a snapshot of active
+ * rules (an even mix of percent-off, buy-X-get-Y and tiered rules over a catalog of twice as many
+ * products, so about half the basket lines have rules), and compiling the snapshot on reload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PromotionEngineBenchmark {
+
+    @Param({"1000"})
+    private int ruleCount;
+
+    @Param({"50"})
+    private int basketSize;
+
+    private List<Promotion> promotions;
+    private PromotionIndex index;
+    private List<BasketLine> basket;
+    private long now;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        int catalogSize = ruleCount * 2;
+
+        promotions = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            Promotion promotion = new Promotion();
+            promotion.setId((long) i + 1);
+            promotion.setName("Promotion " + i);
+            promotion.setProductId(random.nextLong(1, catalogSize + 1));
+            switch (i % 3) {
+                case 0 -> {
+                    promotion.setType(Promotion.Type.PERCENT_OFF);
+                    promotion.setPercentBps(random.nextInt(500, 3000));
+                }
+                case 1 -> {
+                    promotion.setType(Promotion.Type.BUY_X_GET_Y);
+                    promotion.setBuyQuantity(2);
+                    promotion.setFreeQuantity(1);
+                }
+                default -> {
+                    promotion.setType(Promotion.Type.TIERED);
+                    promotion.setTiers("3:500,5:1000,10:1500");
+                }
+            }
+            promotions.add(promotion);
+        }
+        index = PromotionIndex.compile(promotions);
+
+        basket = new ArrayList<>(basketSize);
+        for (int i = 0; i < basketSize; i++) {
+            basket.add(new BasketLine(random.nextLong(1, catalogSize + 1), random.nextLong(100, 500_000),
+                    random.nextInt(1, 12)));
+        }
+        now = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public BasketDiscounts evaluate() {
+        return index.evaluate(basket, now);
+    }
+
+    @Benchmark
+    public PromotionIndex compile() {
+        return PromotionIndex.compile(promotions);
+    }
+}
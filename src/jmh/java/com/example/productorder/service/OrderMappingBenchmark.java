@@ -0,0 +1,53 @@
+package com.example.productorder.service;
+
+import com.example.productorder.BenchmarkFixtures;
+import com.example.productorder.dto.OrderResponseDTO;
+import com.example.productorder.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of mapping an {@link Order} aggregate to its response DTO and of generating order numbers.
+ * Runs entirely in memory; the service is created without collaborators because neither path touches them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemCount;
+
+    private OrderService orderService;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderService = new OrderService(null, null, null, null, null, null, null, null);
+        order = BenchmarkFixtures.order(itemCount);
+    }
+
+    @Benchmark
+    public OrderResponseDTO convertToDTO() {
+        return orderService.convertToDTO(order);
+    }
+
+    @Benchmark
+    public String generateOrderNumber() {
+        return orderService.generateOrderNumber();
+    }
+}
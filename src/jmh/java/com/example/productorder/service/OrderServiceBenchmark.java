@@ -0,0 +1,94 @@
+package com.example.productorder.service;
+
+import com.example.productorder.ProductOrderApplication;
+import com.example.productorder.dto.OrderRequestDTO;
+import com.example.productorder.dto.OrderResponseDTO;
+import com.example.productorder.model.Product;
+import com.example.productorder.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link OrderService#createOrder} against the in-memory H2 database
+ * used by the {@code test} profile, with Redis and Elasticsearch disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int PRODUCT_COUNT = 100;
+
+    @Param({"1", "10", "50"})
+    private int basketSize;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private OrderRequestDTO request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProductOrderApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(
+                        "spring.devtools.restart.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "spring.data.elasticsearch.repositories.enabled=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.productorder=WARN")
+                .run();
+        orderService = context.getBean(OrderService.class);
+
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            Product product = new Product();
+            product.setName("Benchmark product " + i);
+            product.setDescription("Benchmark product");
+            product.setPrice(new BigDecimal("19.99"));
+            // Large enough that the benchmark never runs out of stock
+            product.setStock(Integer.MAX_VALUE / 2);
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+
+        List<OrderRequestDTO.OrderItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < basketSize; i++) {
+            items.add(new OrderRequestDTO.OrderItemDTO(products.get(i % PRODUCT_COUNT).getId(), 1));
+        }
+        request = new OrderRequestDTO("Benchmark Customer", "bench@example.com", "0900000000", items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponseDTO createOrder() {
+        return orderService.createOrder(request);
+    }
+}
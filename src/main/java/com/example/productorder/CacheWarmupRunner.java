@@ -0,0 +1,127 @@
+package com.example.productorder;
+
+import com.example.productorder.repository.OrderRepository;
+import com.example.productorder.service.ProductService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the product cache with the best-selling products of the recent past before the
+ * instance reports itself ready, so a freshly deployed node doesn't send its first wave of
+ * traffic straight to the database.
+ */
+@Component
+@Order
+@Slf4j
+public class CacheWarmupRunner implements CommandLineRunner {
+
+    private final ProductService productService;
+    private final OrderRepository orderRepository;
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @Value("${app.cache.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.warmup.top-products:200}")
+    private int topProducts;
+
+    @Value("${app.cache.warmup.lookback:7d}")
+    private Duration lookback;
+
+    @Value("${app.cache.warmup.parallelism:8}")
+    private int parallelism;
+
+    @Value("${app.cache.warmup.time-budget:30s}")
+    private Duration timeBudget;
+
+    private volatile boolean completed;
+    private volatile int warmedEntries;
+
+    public CacheWarmupRunner(ProductService productService, OrderRepository orderRepository,
+                             ObjectProvider<CacheManager> cacheManager) {
+        this.productService = productService;
+        this.orderRepository = orderRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            if (!enabled || cacheManager.getIfAvailable() == null) {
+                log.debug("Cache warm-up skipped (enabled={}, cache available={})",
+                        enabled, cacheManager.getIfAvailable() != null);
+                return;
+            }
+            warmUp();
+        } catch (Exception e) {
+            // A cold cache is slower, not broken; never fail startup because of warm-up
+            log.warn("Cache warm-up failed, continuing with a cold cache", e);
+        } finally {
+            completed = true;
+        }
+    }
+
+    private void warmUp() throws InterruptedException {
+        long start = System.nanoTime();
+        List<Long> productIds = orderRepository.findTopSellingProductIds(
+                LocalDateTime.now().minus(lookback), PageRequest.of(0, topProducts));
+        log.info("Warming up cache with catalog and {} top-selling products", productIds.size());
+
+        AtomicInteger warmed = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(productService::getAllProducts);
+        productIds.forEach(id -> tasks.add(() -> productService.getProductById(id)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+        try {
+            List<Future<?>> futures = new ArrayList<>(tasks.size());
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    try {
+                        task.run();
+                        warmed.incrementAndGet();
+                    } catch (Exception e) {
+                        log.debug("Cache warm-up entry failed", e);
+                    }
+                }));
+            }
+
+            executor.shutdown();
+            if (!executor.awaitTermination(timeBudget.toMillis(), TimeUnit.MILLISECONDS)) {
+                futures.forEach(future -> future.cancel(true));
+                log.warn("Cache warm-up exceeded its {} budget, {} of {} entries loaded",
+                        timeBudget, warmed.get(), tasks.size());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        warmedEntries = warmed.get();
+        log.info("Cache warm-up finished: {} of {} entries in {} ms", warmedEntries, tasks.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public int getWarmedEntries() {
+        return warmedEntries;
+    }
+}
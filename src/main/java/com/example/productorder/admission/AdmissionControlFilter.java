@@ -0,0 +1,161 @@
+package com.example.productorder.admission;
+
+import com.example.productorder.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load shedding per endpoint group. Each group has an {@link AimdLimiter}, so slow admin or search
+ * calls cannot take the threads cheap reads need; on top of that, groups without priority only
+ * share {@code shared-fraction} of {@code max-concurrency}, keeping the remainder for checkout.
+ * Requests over either limit get 503 with Retry-After immediately instead of queueing in Tomcat.
+ * <p>
+ * Metrics: {@code app.admission.limit} and {@code app.admission.in_flight} per group,
+ * {@code app.admission.rejected} per group and reason ({@code limit} or {@code capacity}).
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AimdLimiter> limiters = new LinkedHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int sharedCapacity;
+
+    public AdmissionControlFilter(AdmissionProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.sharedCapacity = (int) (properties.getMaxConcurrency() * properties.getSharedFraction());
+
+        for (String group : EndpointGroups.ALL) {
+            AimdLimiter limiter = new AimdLimiter(properties.groupFor(group));
+            limiters.put(group, limiter);
+            Gauge.builder("app.admission.limit", limiter, AimdLimiter::getLimit)
+                    .tag("group", group)
+                    .description("Current adaptive concurrency limit of the endpoint group")
+                    .register(meterRegistry);
+            Gauge.builder("app.admission.in_flight", limiter, AimdLimiter::getInFlight)
+                    .tag("group", group)
+                    .description("Requests of the endpoint group being processed")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String group = EndpointGroups.classify(request);
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        int capacity = properties.groupFor(group).isPriority() ? properties.getMaxConcurrency() : sharedCapacity;
+        if (inFlight.incrementAndGet() > capacity) {
+            inFlight.decrementAndGet();
+            reject(response, group, "capacity");
+            return;
+        }
+        AimdLimiter limiter = limiters.get(group);
+        if (!limiter.tryAcquire()) {
+            inFlight.decrementAndGet();
+            reject(response, group, "limit");
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Streaming responses hold their slot until the async work completes
+                request.getAsyncContext().addListener(new ReleaseListener(limiter, start, released));
+            } else {
+                release(limiter, start, failed || response.getStatus() >= 500, released);
+            }
+        }
+    }
+
+    private void release(AimdLimiter limiter, long start, boolean failed, AtomicBoolean released) {
+        if (released.compareAndSet(false, true)) {
+            limiter.release(System.nanoTime() - start, failed);
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void reject(HttpServletResponse response, String group, String reason) throws IOException {
+        Counter.builder("app.admission.rejected")
+                .tag("group", group)
+                .tag("reason", reason)
+                .description("Requests shed by admission control")
+                .register(meterRegistry)
+                .increment();
+        log.debug("Rejected {} request ({})", group, reason);
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is busy, retry later",
+                LocalDateTime.now()));
+    }
+
+    private final class ReleaseListener implements AsyncListener {
+        private final AimdLimiter limiter;
+        private final long start;
+        private final AtomicBoolean released;
+
+        private ReleaseListener(AimdLimiter limiter, long start, AtomicBoolean released) {
+            this.limiter = limiter;
+            this.start = start;
+            this.released = released;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(limiter, start, response != null && response.getStatus() >= 500, released);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(limiter, start, true, released);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(limiter, start, true, released);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
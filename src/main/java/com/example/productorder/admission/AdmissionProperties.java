@@ -0,0 +1,57 @@
+package com.example.productorder.admission;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control settings, bound from {@code app.admission.*}. Each endpoint group
+ * ({@code app.admission.groups.<group>.*}) has its own adaptive limit; groups without an entry use
+ * {@link #getDefaults()}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /** Requests admitted at once across all groups; keep below the servlet container's thread count. */
+    private int maxConcurrency = 150;
+
+    /** Fraction of max-concurrency that groups without priority may use; the rest is kept for priority groups. */
+    private double sharedFraction = 0.8;
+
+    /** Value of the Retry-After header on rejected requests. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private Group defaults = new Group();
+
+    private Map<String, Group> groups = new HashMap<>();
+
+    public Group groupFor(String name) {
+        return groups.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class Group {
+
+        /** Concurrency limit at startup. */
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 100;
+
+        /** Requests slower than this (or failing with 5xx) shrink the limit. */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /** Factor applied to the limit when it shrinks. */
+        private double backoffRatio = 0.9;
+
+        /** Priority groups may use the capacity kept back from the others. */
+        private boolean priority = false;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.productorder.admission;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+
+/**
+ * Maps requests to the endpoint groups admission control limits separately. Requests outside
+ * these groups (order reads, reports, docs, actuator, the SSE stream) are not limited.
+ */
+public final class EndpointGroups {
+
+    public static final String CHECKOUT = "checkout";
+    public static final String PRODUCT_READS = "product-reads";
+    public static final String SEARCH = "search";
+    public static final String UPLOAD = "upload";
+    public static final String ADMIN = "admin";
+
+    public static final List<String> ALL = List.of(CHECKOUT, PRODUCT_READS, SEARCH, UPLOAD, ADMIN);
+
+    private EndpointGroups() {
+    }
+
+    public static String classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.equals("/api/orders") && "POST".equals(method)) {
+            return CHECKOUT;
+        }
+        if (path.startsWith("/api/admin/")) {
+            return ADMIN;
+        }
+        if (path.startsWith("/api/upload/") || path.startsWith("/api/products/import")) {
+            return UPLOAD;
+        }
+        if (path.equals("/api/products/search")) {
+            return SEARCH;
+        }
+        if ((path.equals("/api/products") || path.startsWith("/api/products/"))
+                && ("GET".equals(method) || "HEAD".equals(method))
+                && !path.equals("/api/products/stream")) {
+            return PRODUCT_READS;
+        }
+        return null;
+    }
+}
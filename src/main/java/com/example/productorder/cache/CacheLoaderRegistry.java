@@ -0,0 +1,26 @@
+package com.example.productorder.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Loaders used to refresh cache entries in the background, keyed by cache name.
+ * Services register a loader that reads the value for a cache key straight from the database;
+ * a loader returning {@code null} means the entry no longer exists and should be evicted.
+ */
+@Component
+public class CacheLoaderRegistry {
+
+    private final Map<String, Function<Object, Object>> loaders = new ConcurrentHashMap<>();
+
+    public void register(String cacheName, Function<Object, Object> loader) {
+        loaders.put(cacheName, loader);
+    }
+
+    public Function<Object, Object> loaderFor(String cacheName) {
+        return loaders.get(cacheName);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.productorder.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-cache expiry policies, bound from {@code app.cache.policies.<cache-name>.*}.
+ * Caches without an entry use {@link #getDefaults()}. {@code app.cache.fallback.*} sizes the local
+ * cache used while Redis is unavailable.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = new Policy();
+
+    private Map<String, Policy> policies = new HashMap<>();
+
+    private Fallback fallback = new Fallback();
+
+    public Policy policyFor(String cacheName) {
+        return policies.getOrDefault(cacheName, defaults);
+    }
+
+    @Data
+    public static class Policy {
+
+        /** Base time-to-live of an entry. */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /** Random spread applied to the TTL, as a fraction of it (0.1 = +/-10%). */
+        private double ttlJitter = 0.1;
+
+        /**
+         * Fraction of the TTL after which a hit triggers a background reload, or 0 to disable.
+         * Only applies to caches with a loader registered in {@link CacheLoaderRegistry}.
+         */
+        private double refreshAhead = 0;
+    }
+
+    @Data
+    public static class Fallback {
+
+        /** Entries kept locally per cache while Redis is unavailable; 0 disables the local cache. */
+        private int maxEntries = 10_000;
+
+        /** Lifetime of a local entry, short so nodes do not serve each other's stale data for long. */
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.productorder.cache;
+
+import com.example.productorder.CacheWarmupRunner;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until the startup cache warm-up has finished. Included in the
+ * readiness group so load balancers only route traffic to warmed instances.
+ */
+@Component("cacheWarmup")
+@RequiredArgsConstructor
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupRunner cacheWarmupRunner;
+
+    @Override
+    public Health health() {
+        if (!cacheWarmupRunner.isCompleted()) {
+            return Health.outOfService().withDetail("warmup", "in progress").build();
+        }
+        return Health.up().withDetail("warmedEntries", cacheWarmupRunner.getWarmedEntries()).build();
+    }
+}
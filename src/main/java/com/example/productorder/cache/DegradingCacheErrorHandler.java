@@ -0,0 +1,60 @@
+package com.example.productorder.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+import org.springframework.lang.NonNull;
+
+/**
+ * Treats cache errors as misses (get) or no-ops (put, evict, clear) instead of failing the
+ * annotated method, which then reads from or writes to the database as if there were no cache.
+ * Redis failures are normally absorbed by {@link ResilientCache}; this catches whatever still
+ * escapes the cache decorators. Counted in {@code app.cache.errors} per cache and operation.
+ */
+@Slf4j
+public class DegradingCacheErrorHandler implements CacheErrorHandler {
+
+    private final MeterRegistry meterRegistry;
+
+    public DegradingCacheErrorHandler(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void handleCacheGetError(@NonNull RuntimeException exception, @NonNull Cache cache, @NonNull Object key) {
+        record(exception, cache, "get", key);
+    }
+
+    @Override
+    public void handleCachePutError(@NonNull RuntimeException exception, @NonNull Cache cache,
+                                    @NonNull Object key, Object value) {
+        record(exception, cache, "put", key);
+    }
+
+    @Override
+    public void handleCacheEvictError(@NonNull RuntimeException exception, @NonNull Cache cache, @NonNull Object key) {
+        record(exception, cache, "evict", key);
+    }
+
+    @Override
+    public void handleCacheClearError(@NonNull RuntimeException exception, @NonNull Cache cache) {
+        record(exception, cache, "clear", null);
+    }
+
+    private void record(RuntimeException exception, Cache cache, String operation, Object key) {
+        log.warn("Cache {} failed on {} {}, continuing without cache: {}",
+                cache.getName(), operation, key == null ? "" : key, exception.getMessage());
+        countError(meterRegistry, cache.getName(), operation);
+    }
+
+    static void countError(MeterRegistry meterRegistry, String cacheName, String operation) {
+        Counter.builder("app.cache.errors")
+                .tag("cache", cacheName)
+                .tag("operation", operation)
+                .description("Cache operations that failed and were served without the cache")
+                .register(meterRegistry)
+                .increment();
+    }
+}
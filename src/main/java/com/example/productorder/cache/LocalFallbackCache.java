@@ -0,0 +1,66 @@
+package com.example.productorder.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small in-memory LRU store with a fixed time-to-live, used by {@link ResilientCache} while Redis is
+ * unavailable. Bounded by {@code maxEntries} so a long outage cannot grow the heap, and short-lived
+ * so entries written on this node during the outage are not served long after other nodes changed
+ * the data.
+ */
+public class LocalFallbackCache {
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<Object, Entry> entries;
+
+    public LocalFallbackCache(int maxEntries, long ttlNanos) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public synchronized Cache.ValueWrapper get(Object key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt >= 0) {
+            entries.remove(key);
+            return null;
+        }
+        return new SimpleValueWrapper(entry.value);
+    }
+
+    public synchronized void put(Object key, Object value) {
+        if (maxEntries <= 0 || value == null) {
+            return;
+        }
+        entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<Object, Entry>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evict(Object key) {
+        entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry(Object value, long expiresAt) {
+    }
+}
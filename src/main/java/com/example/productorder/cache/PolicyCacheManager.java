@@ -0,0 +1,63 @@
+package com.example.productorder.cache;
+
+import com.example.productorder.resilience.Dependency;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.NonNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Wraps every cache of the underlying manager in a {@link RefreshAheadCache} configured
+ * with that cache's policy, on top of a {@link ResilientCache} guarding the Redis calls and falling
+ * back to a local cache while Redis is unavailable.
+ */
+public class PolicyCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CachePolicyProperties properties;
+    private final CacheLoaderRegistry loaders;
+    private final Executor refreshExecutor;
+    private final Dependency redis;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public PolicyCacheManager(CacheManager delegate, CachePolicyProperties properties,
+                              CacheLoaderRegistry loaders, Executor refreshExecutor,
+                              Dependency redis, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.loaders = loaders;
+        this.refreshExecutor = refreshExecutor;
+        this.redis = redis;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(@NonNull String name) {
+        Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> {
+            CachePolicyProperties.Fallback fallback = properties.getFallback();
+            LocalFallbackCache local = new LocalFallbackCache(fallback.getMaxEntries(), fallback.getTtl().toNanos());
+            Cache resilient = new ResilientCache(target, redis, local, meterRegistry);
+            return new RefreshAheadCache(resilient, properties.policyFor(name), loaders, refreshExecutor);
+        });
+    }
+
+    @Override
+    @NonNull
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
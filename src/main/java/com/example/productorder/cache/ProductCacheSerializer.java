@@ -0,0 +1,286 @@
+package com.example.productorder.cache;
+
+import com.example.productorder.model.Product;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Compact, schema-versioned Redis value serializer for the product cache.
+ * <p>
+ * {@link Product} and lists of products are written as a fixed field sequence without
+ * property or class names; anything else is delegated to the fallback serializer.
+ * Payloads above the compression threshold are deflated when that makes them smaller.
+ * Values that don't start with the format's magic byte are read with the fallback
+ * serializer, so entries written by the JSON serializer remain readable after switching.
+ * <pre>
+ * header: magic(1) version(1) flags(1) type(1)
+ * product: presence bitmask(2) id? name? description? price? stock? imageUrl? createdAt? updatedAt? sku?
+ * </pre>
+ */
+public class ProductCacheSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+    // Version 2 appended the sku field; version 1 entries have the same layout without it
+    static final byte VERSION = 2;
+    private static final byte MIN_READ_VERSION = 1;
+
+    private static final byte FLAG_COMPRESSED = 0x01;
+
+    private static final byte TYPE_PRODUCT = 1;
+    private static final byte TYPE_PRODUCT_LIST = 2;
+    private static final byte TYPE_FALLBACK = 3;
+
+    private static final int HEADER_LENGTH = 4;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+
+    /**
+     * @param fallback             serializer for values that are not products, and for reading legacy entries
+     * @param compressionThreshold payload size in bytes above which compression is attempted, or -1 to disable
+     */
+    public ProductCacheSerializer(RedisSerializer<Object> fallback, int compressionThreshold) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return null;
+        }
+
+        try {
+            byte type;
+            byte[] payload;
+            if (value instanceof Product product) {
+                type = TYPE_PRODUCT;
+                payload = encode(out -> writeProduct(out, product));
+            } else if (isProductList(value)) {
+                type = TYPE_PRODUCT_LIST;
+                Collection<?> products = (Collection<?>) value;
+                payload = encode(out -> {
+                    writeVarInt(out, products.size());
+                    for (Object product : products) {
+                        writeProduct(out, (Product) product);
+                    }
+                });
+            } else {
+                type = TYPE_FALLBACK;
+                payload = fallback.serialize(value);
+            }
+
+            byte flags = 0;
+            if (compressionThreshold >= 0 && payload.length > compressionThreshold) {
+                byte[] compressed = deflate(payload);
+                if (compressed.length < payload.length) {
+                    payload = compressed;
+                    flags |= FLAG_COMPRESSED;
+                }
+            }
+
+            byte[] result = new byte[HEADER_LENGTH + payload.length];
+            result[0] = MAGIC;
+            result[1] = VERSION;
+            result[2] = flags;
+            result[3] = type;
+            System.arraycopy(payload, 0, result, HEADER_LENGTH, payload.length);
+            return result;
+        } catch (IOException e) {
+            throw new SerializationException("Could not write cache value: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH || bytes[1] < MIN_READ_VERSION || bytes[1] > VERSION) {
+            throw new SerializationException("Unsupported cache value format version: " + bytes[1]);
+        }
+
+        byte flags = bytes[2];
+        byte type = bytes[3];
+        InputStream payload = new ByteArrayInputStream(bytes, HEADER_LENGTH, bytes.length - HEADER_LENGTH);
+        if ((flags & FLAG_COMPRESSED) != 0) {
+            payload = new InflaterInputStream(payload);
+        }
+
+        try (DataInputStream in = new DataInputStream(payload)) {
+            switch (type) {
+                case TYPE_PRODUCT:
+                    return readProduct(in);
+                case TYPE_PRODUCT_LIST:
+                    int size = readVarInt(in);
+                    List<Product> products = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        products.add(readProduct(in));
+                    }
+                    return products;
+                case TYPE_FALLBACK:
+                    return fallback.deserialize(in.readAllBytes());
+                default:
+                    throw new SerializationException("Unknown cache value type: " + type);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not read cache value: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean isProductList(Object value) {
+        if (!(value instanceof Collection<?> collection) || collection.isEmpty()) {
+            return false;
+        }
+        for (Object element : collection) {
+            if (!(element instanceof Product)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeProduct(DataOutputStream out, Product product) throws IOException {
+        int presence = 0;
+        if (product.getId() != null) presence |= 1;
+        if (product.getName() != null) presence |= 1 << 1;
+        if (product.getDescription() != null) presence |= 1 << 2;
+        if (product.getPrice() != null) presence |= 1 << 3;
+        if (product.getStock() != null) presence |= 1 << 4;
+        if (product.getImageUrl() != null) presence |= 1 << 5;
+        if (product.getCreatedAt() != null) presence |= 1 << 6;
+        if (product.getUpdatedAt() != null) presence |= 1 << 7;
+        if (product.getSku() != null) presence |= 1 << 8;
+        out.writeShort(presence);
+
+        if (product.getId() != null) out.writeLong(product.getId());
+        if (product.getName() != null) writeString(out, product.getName());
+        if (product.getDescription() != null) writeString(out, product.getDescription());
+        if (product.getPrice() != null) writeDecimal(out, product.getPrice());
+        if (product.getStock() != null) out.writeInt(product.getStock());
+        if (product.getImageUrl() != null) writeString(out, product.getImageUrl());
+        if (product.getCreatedAt() != null) writeDateTime(out, product.getCreatedAt());
+        if (product.getUpdatedAt() != null) writeDateTime(out, product.getUpdatedAt());
+        if (product.getSku() != null) writeString(out, product.getSku());
+    }
+
+    private static Product readProduct(DataInputStream in) throws IOException {
+        int presence = in.readUnsignedShort();
+        Product product = new Product();
+        if ((presence & 1) != 0) product.setId(in.readLong());
+        if ((presence & 1 << 1) != 0) product.setName(readString(in));
+        if ((presence & 1 << 2) != 0) product.setDescription(readString(in));
+        if ((presence & 1 << 3) != 0) product.setPrice(readDecimal(in));
+        if ((presence & 1 << 4) != 0) product.setStock(in.readInt());
+        if ((presence & 1 << 5) != 0) product.setImageUrl(readString(in));
+        if ((presence & 1 << 6) != 0) product.setCreatedAt(readDateTime(in));
+        if ((presence & 1 << 7) != 0) product.setUpdatedAt(readDateTime(in));
+        if ((presence & 1 << 8) != 0) product.setSku(readString(in));
+        return product;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeVarInt(out, value.scale());
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        writeVarInt(out, unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = readVarInt(in);
+        byte[] unscaled = new byte[readVarInt(in)];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+        out.writeInt(value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        long seconds = in.readLong();
+        int nanos = in.readInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            if (shift > 28) {
+                throw new IOException("Malformed varint");
+            }
+            b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static byte[] deflate(byte[] payload) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(payload.length / 2);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(buffer, deflater)) {
+            out.write(payload);
+        } finally {
+            deflater.end();
+        }
+        return buffer.toByteArray();
+    }
+
+    private static byte[] encode(PayloadWriter writer) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            writer.write(out);
+        }
+        return buffer.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface PayloadWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
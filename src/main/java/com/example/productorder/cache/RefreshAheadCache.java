@@ -0,0 +1,211 @@
+package com.example.productorder.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Cache decorator adding single-flight loading and refresh-ahead on top of a remote cache.
+ * <p>
+ * On a miss through {@link #get(Object, Callable)} (used by {@code @Cacheable(sync = true)})
+ * only one caller per key runs the loader; concurrent callers wait for its result.
+ * When refresh-ahead is enabled, a hit on an entry this node wrote more than
+ * {@code refreshAhead * ttl} ago reloads it in the background so that hot keys are
+ * replaced before they expire instead of all missing at once.
+ */
+@Slf4j
+public class RefreshAheadCache implements Cache {
+
+    // Bound on locally tracked write times; keys beyond it are simply not refreshed ahead
+    private static final int MAX_TRACKED_KEYS = 10_000;
+
+    private final Cache delegate;
+    private final CachePolicyProperties.Policy policy;
+    private final CacheLoaderRegistry loaders;
+    private final Executor refreshExecutor;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Object, Long> writtenAt = new ConcurrentHashMap<>();
+
+    public RefreshAheadCache(Cache delegate, CachePolicyProperties.Policy policy,
+                             CacheLoaderRegistry loaders, Executor refreshExecutor) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.loaders = loaders;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        ValueWrapper value = delegate.get(key);
+        if (value != null) {
+            refreshIfDue(key);
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        T value = delegate.get(key, type);
+        if (value != null) {
+            refreshIfDue(key);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        return (T) loadOnce(key, valueLoader::call);
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        delegate.put(key, value);
+        recordWrite(key);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            recordWrite(key);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        delegate.evict(key);
+        writtenAt.remove(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        writtenAt.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        writtenAt.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        writtenAt.clear();
+        return delegate.invalidate();
+    }
+
+    private Object loadOnce(Object key, Callable<Object> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return join(existing);
+        }
+
+        try {
+            // Another node or an earlier leader may have filled the entry meanwhile
+            ValueWrapper cached = delegate.get(key);
+            Object value = cached != null ? cached.get() : loader.call();
+            if (cached == null && value != null) {
+                put(key, value);
+            }
+            future.complete(value);
+            return value;
+        } catch (Exception e) {
+            ValueRetrievalException failure = new ValueRetrievalException(key, loader, e);
+            future.completeExceptionally(failure);
+            throw failure;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private void refreshIfDue(Object key) {
+        if (policy.getRefreshAhead() <= 0) {
+            return;
+        }
+        Long written = writtenAt.get(key);
+        Function<Object, Object> loader = loaders.loaderFor(getName());
+        if (written == null || loader == null || inFlight.containsKey(key)) {
+            return;
+        }
+
+        long refreshAfterMillis = (long) (policy.getTtl().toMillis() * policy.getRefreshAhead());
+        if (System.currentTimeMillis() - written < refreshAfterMillis) {
+            return;
+        }
+
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, future) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> refresh(key, loader, future));
+        } catch (RuntimeException e) {
+            // Executor saturated; the entry will be reloaded on expiry instead
+            inFlight.remove(key, future);
+            future.complete(null);
+        }
+    }
+
+    private void refresh(Object key, Function<Object, Object> loader, CompletableFuture<Object> future) {
+        try {
+            Object value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            } else {
+                evict(key);
+            }
+            future.complete(value);
+            log.debug("Refreshed cache entry {}::{} ahead of expiry", getName(), key);
+        } catch (Exception e) {
+            log.warn("Refresh-ahead failed for cache entry {}::{}", getName(), key, e);
+            future.completeExceptionally(e);
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private void recordWrite(Object key) {
+        if (writtenAt.size() < MAX_TRACKED_KEYS || writtenAt.containsKey(key)) {
+            writtenAt.put(key, System.currentTimeMillis());
+        }
+    }
+}
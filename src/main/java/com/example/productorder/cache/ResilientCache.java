@@ -0,0 +1,209 @@
+package com.example.productorder.cache;
+
+import com.example.productorder.resilience.Dependency;
+import com.example.productorder.resilience.DependencyUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.lang.NonNull;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator routing every Redis call through the redis {@link Dependency}. When a call fails,
+ * or the breaker has opened after repeated failures, the cache degrades to a bounded
+ * {@link LocalFallbackCache} instead of failing the caller: reads and writes go to the local store,
+ * misses go to the database. The first call that reaches Redis again ends the degraded mode and
+ * drops the local entries.
+ * <p>
+ * Invalidations always apply to the local store. One that could not reach Redis leaves possibly
+ * stale entries there, so the Redis cache is cleared on recovery.
+ * <p>
+ * Metrics: {@code app.cache.fallback} (local reads, tagged {@code hit} or {@code miss}),
+ * {@code app.cache.fallback.size} and {@code app.cache.errors} per cache.
+ */
+@Slf4j
+public class ResilientCache implements Cache {
+
+    private final Cache delegate;
+    private final Dependency redis;
+    private final LocalFallbackCache local;
+    private final MeterRegistry meterRegistry;
+    private final Counter fallbackHits;
+    private final Counter fallbackMisses;
+    private volatile boolean stale;
+    private volatile boolean degraded;
+
+    public ResilientCache(Cache delegate, Dependency redis, LocalFallbackCache local, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.redis = redis;
+        this.local = local;
+        this.meterRegistry = meterRegistry;
+        this.fallbackHits = fallbackCounter("hit");
+        this.fallbackMisses = fallbackCounter("miss");
+        Gauge.builder("app.cache.fallback.size", local, LocalFallbackCache::size)
+                .tag("cache", delegate.getName())
+                .description("Entries held locally while Redis is unavailable")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @NonNull
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    @NonNull
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(@NonNull Object key) {
+        return call("get", () -> delegate.get(key), () -> readLocal(key));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, Class<T> type) {
+        return call("get", () -> delegate.get(key, type), () -> {
+            ValueWrapper value = readLocal(key);
+            return value != null && (type == null || type.isInstance(value.get())) ? (T) value.get() : null;
+        });
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(@NonNull Object key, @NonNull Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(@NonNull Object key, Object value) {
+        call("put", () -> {
+            delegate.put(key, value);
+            return null;
+        }, () -> {
+            local.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(@NonNull Object key, Object value) {
+        return call("put", () -> delegate.putIfAbsent(key, value), () -> {
+            ValueWrapper existing = local.get(key);
+            if (existing == null) {
+                local.put(key, value);
+            }
+            return existing;
+        });
+    }
+
+    @Override
+    public void evict(@NonNull Object key) {
+        local.evict(key);
+        invalidate("evict", () -> {
+            delegate.evict(key);
+            return true;
+        });
+    }
+
+    @Override
+    public boolean evictIfPresent(@NonNull Object key) {
+        local.evict(key);
+        return invalidate("evict", () -> delegate.evictIfPresent(key));
+    }
+
+    @Override
+    public void clear() {
+        local.clear();
+        invalidate("clear", () -> {
+            delegate.clear();
+            return true;
+        });
+    }
+
+    @Override
+    public boolean invalidate() {
+        local.clear();
+        return invalidate("clear", delegate::invalidate);
+    }
+
+    private boolean invalidate(String operation, Supplier<Boolean> action) {
+        Boolean result = call(operation, action, () -> {
+            stale = true;
+            return false;
+        });
+        return result != null && result;
+    }
+
+    private <T> T call(String operation, Supplier<T> action, Supplier<T> fallback) {
+        try {
+            return redis.call(() -> {
+                recoverIfNeeded();
+                return action.get();
+            });
+        } catch (DependencyUnavailableException e) {
+            enterDegradedMode();
+            return fallback.get();
+        } catch (RuntimeException e) {
+            log.warn("Redis {} on cache {} failed, using local cache: {}", operation, getName(), e.getMessage());
+            DegradingCacheErrorHandler.countError(meterRegistry, getName(), operation);
+            enterDegradedMode();
+            return fallback.get();
+        }
+    }
+
+    private void enterDegradedMode() {
+        if (!degraded) {
+            degraded = true;
+            log.warn("Cache {} degraded to local cache", getName());
+        }
+    }
+
+    // Runs inside a Redis call, so a failure here counts against the breaker like any other
+    private void recoverIfNeeded() {
+        if (stale) {
+            delegate.clear();
+            stale = false;
+            log.info("Cleared cache {} after missed invalidations", getName());
+        }
+        if (degraded) {
+            degraded = false;
+            local.clear();
+            log.info("Cache {} back on Redis", getName());
+        }
+    }
+
+    private ValueWrapper readLocal(Object key) {
+        ValueWrapper value = local.get(key);
+        (value != null ? fallbackHits : fallbackMisses).increment();
+        return value;
+    }
+
+    private Counter fallbackCounter(String result) {
+        return Counter.builder("app.cache.fallback")
+                .tag("cache", delegate.getName())
+                .tag("result", result)
+                .description("Cache reads served by the local cache while Redis is unavailable")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.productorder.config;
+
+import com.example.productorder.stream.ProductStreamService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cross-node fan-out for the product stream: every node subscribes to the channel that
+ * {@link ProductStreamService} publishes changed product ids to.
+ */
+@Configuration
+@ConditionalOnProperty(name = {"app.redis.enabled", "app.stream.redis.enabled"}, havingValue = "true")
+public class ProductStreamRedisConfig {
+
+    @Bean
+    public RedisMessageListenerContainer productStreamListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                        ProductStreamService productStreamService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            List<Long> ids = new ArrayList<>();
+            for (String id : body.split(",")) {
+                if (!id.isBlank()) {
+                    ids.add(Long.valueOf(id.trim()));
+                }
+            }
+            productStreamService.markChanged(ids);
+        }, new ChannelTopic(ProductStreamService.REDIS_CHANNEL));
+        return container;
+    }
+}
@@ -1,24 +1,70 @@
 package com.example.productorder.config;
 
+import com.example.productorder.cache.CacheLoaderRegistry;
+import com.example.productorder.cache.CachePolicyProperties;
+import com.example.productorder.cache.DegradingCacheErrorHandler;
+import com.example.productorder.cache.PolicyCacheManager;
+import com.example.productorder.cache.ProductCacheSerializer;
+import com.example.productorder.resilience.DependencyRegistry;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableCaching
+@EnableConfigurationProperties(CachePolicyProperties.class)
 @ConditionalOnProperty(name = "app.redis.enabled", havingValue = "true")
-public class RedisConfig {
+public class RedisConfig implements CachingConfigurer {
+
+    // "json" keeps the GenericJackson2Json format; "compact" uses ProductCacheSerializer and can still read json entries
+    @Value("${app.cache.serializer:json}")
+    private String cacheSerializer;
+
+    @Value("${app.cache.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    // Resolved lazily: caching configurers are created before most other beans
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public RedisConfig(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Cache failures never fail the annotated method; it runs against the database instead
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new DegradingCacheErrorHandler(meterRegistry.getObject());
+    }
 
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
@@ -35,26 +81,81 @@ public class RedisConfig {
         template.setHashKeySerializer(new StringRedisSerializer());
 
         // Use JSON serializer for values
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        template.setValueSerializer(jsonRedisSerializer());
+        template.setHashValueSerializer(jsonRedisSerializer());
 
         template.afterPropertiesSet();
         return template;
     }
 
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                     CachePolicyProperties cachePolicies,
+                                     CacheLoaderRegistry cacheLoaders,
+                                     DependencyRegistry dependencies) {
+        Map<String, RedisCacheConfiguration> perCacheConfigs = new HashMap<>();
+        cachePolicies.getPolicies().forEach((name, policy) -> perCacheConfigs.put(name, cacheConfiguration(policy)));
+
+        // SCAN instead of KEYS when a cache is cleared (bulk product writes clear the product cache)
+        RedisCacheWriter cacheWriter = RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory,
+                BatchStrategies.scan(1000));
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(cacheWriter)
+                .cacheDefaults(cacheConfiguration(cachePolicies.getDefaults()))
+                .withInitialCacheConfigurations(perCacheConfigs)
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        return new PolicyCacheManager(redisCacheManager, cachePolicies, cacheLoaders, cacheRefreshExecutor(),
+                dependencies.get(DependencyRegistry.REDIS), meterRegistry.getObject());
+    }
+
+    private RedisCacheConfiguration cacheConfiguration(CachePolicyProperties.Policy policy) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(jitteredTtl(policy))
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                        RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer()))
                 .disableCachingNullValues();
+    }
 
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(config)
-                .build();
+    // Spread expiry so entries written together (e.g. hot products after a deploy) don't expire together
+    private static RedisCacheWriter.TtlFunction jitteredTtl(CachePolicyProperties.Policy policy) {
+        long ttlMillis = policy.getTtl().toMillis();
+        double jitter = policy.getTtlJitter();
+        if (jitter <= 0) {
+            return RedisCacheWriter.TtlFunction.just(policy.getTtl());
+        }
+        return (key, value) -> {
+            double factor = 1 + ThreadLocalRandom.current().nextDouble(-jitter, jitter);
+            return Duration.ofMillis(Math.max(1, (long) (ttlMillis * factor)));
+        };
+    }
+
+    private static Executor cacheRefreshExecutor() {
+        return new ThreadPoolExecutor(2, 2, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1000), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    private RedisSerializer<Object> cacheValueSerializer() {
+        return switch (cacheSerializer) {
+            case "json" -> jsonRedisSerializer();
+            case "compact" -> new ProductCacheSerializer(jsonRedisSerializer(), compressionThreshold);
+            default -> throw new IllegalStateException("Unknown app.cache.serializer: " + cacheSerializer);
+        };
+    }
+
+    // Spring's default serializer (same type info, same null handling) plus JavaTimeModule: without it the
+    // LocalDateTime fields on Product cannot be written at all. Dates are stored as ISO strings
+    static GenericJackson2JsonRedisSerializer jsonRedisSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(mapper -> {
+            mapper.registerModule(new JavaTimeModule());
+            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        });
     }
 }
 
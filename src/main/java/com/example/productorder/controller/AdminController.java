@@ -1,6 +1,10 @@
 package com.example.productorder.controller;
 
+import com.example.productorder.promotion.PromotionEngine;
+import com.example.productorder.service.OrderArchiveService;
+import com.example.productorder.service.PendingOrderReaper;
 import com.example.productorder.service.ProductService;
+import com.example.productorder.service.SalesReportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +23,10 @@ import java.util.Map;
 public class AdminController {
 
     private final ProductService productService;
+    private final SalesReportService salesReportService;
+    private final OrderArchiveService orderArchiveService;
+    private final PendingOrderReaper pendingOrderReaper;
+    private final PromotionEngine promotionEngine;
 
     @Operation(summary = "Reindex tất cả sản phẩm vào Elasticsearch",
                description = "Đồng bộ lại tất cả sản phẩm từ database vào Elasticsearch")
@@ -32,5 +40,56 @@ public class AdminController {
 
         return ResponseEntity.ok(response);
     }
-}
 
+    @Operation(summary = "Tính lại dữ liệu báo cáo doanh số",
+               description = "Backfill các bảng tổng hợp báo cáo từ toàn bộ đơn hàng hiện có")
+    @PostMapping("/reports/rebuild")
+    public ResponseEntity<Map<String, String>> rebuildReports() {
+        salesReportService.rebuild();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Report aggregates rebuilt successfully");
+        response.put("status", "success");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Lưu trữ đơn hàng cũ",
+               description = "Chuyển các đơn hàng DELIVERED/CANCELLED cũ sang bảng lưu trữ (archive)")
+    @PostMapping("/archive-orders")
+    public ResponseEntity<Map<String, String>> archiveOrders() {
+        int archived = orderArchiveService.archiveOldOrders();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Archived " + archived + " orders");
+        response.put("status", "success");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Hủy các đơn hàng PENDING quá hạn",
+               description = "Hủy đơn hàng PENDING cũ hơn app.order-reaper.ttl và hoàn trả tồn kho")
+    @PostMapping("/reap-pending-orders")
+    public ResponseEntity<Map<String, String>> reapPendingOrders() {
+        int cancelled = pendingOrderReaper.reap();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Cancelled " + cancelled + " stale pending orders");
+        response.put("status", "success");
+
+        return ResponseEntity.ok(response);
+    }
+
+    @Operation(summary = "Nạp lại khuyến mãi",
+               description = "Biên dịch lại các khuyến mãi đang hoạt động từ bảng promotions và áp dụng ngay cho checkout")
+    @PostMapping("/promotions/reload")
+    public ResponseEntity<Map<String, String>> reloadPromotions() {
+        int rules = promotionEngine.reload();
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Loaded " + rules + " promotion rules");
+        response.put("status", "success");
+
+        return ResponseEntity.ok(response);
+    }
+}
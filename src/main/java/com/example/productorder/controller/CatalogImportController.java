@@ -0,0 +1,98 @@
+package com.example.productorder.controller;
+
+import com.example.productorder.model.ImportJob;
+import com.example.productorder.service.CatalogImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/products/import")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Import", description = "API nhập danh mục sản phẩm hàng loạt")
+public class CatalogImportController {
+
+    private final CatalogImportService catalogImportService;
+
+    @Operation(summary = "Nhập danh mục sản phẩm từ file CSV hoặc NDJSON",
+               description = "Gửi nội dung file trực tiếp trong body (text/csv hoặc application/x-ndjson). " +
+                       "Sản phẩm được thêm mới hoặc cập nhật theo SKU trong nền, theo từng lô. " +
+                       "Trả về job để theo dõi tiến độ")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Đã nhận file, job đang chờ xử lý",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJob.class))),
+            @ApiResponse(responseCode = "400", description = "Định dạng không hợp lệ", content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<ImportJob> importCatalog(
+            @Parameter(description = "csv hoặc ndjson; mặc định lấy theo Content-Type")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) throws IOException {
+        ImportJob job = catalogImportService.submit(resolveFormat(format, contentType), body);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/products/import/" + job.getId()))
+                .body(job);
+    }
+
+    @Operation(summary = "Xem tiến độ job nhập danh mục",
+               description = "Số bản ghi đã xử lý, đã ghi, bị bỏ qua và lỗi gần nhất")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Thành công",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJob.class))),
+            @ApiResponse(responseCode = "404", description = "Không tìm thấy job", content = @Content)
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportJob> getImportJob(
+            @Parameter(description = "ID của job") @PathVariable Long id) {
+        return ResponseEntity.ok(catalogImportService.getJob(id));
+    }
+
+    @Operation(summary = "Chạy lại job nhập danh mục bị lỗi",
+               description = "Tiếp tục job FAILED từ bản ghi cuối cùng đã được ghi")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job đã được xếp hàng lại",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportJob.class))),
+            @ApiResponse(responseCode = "400", description = "Job không ở trạng thái FAILED", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Không tìm thấy job", content = @Content)
+    })
+    @PostMapping("/{id}/retry")
+    public ResponseEntity<ImportJob> retryImportJob(
+            @Parameter(description = "ID của job") @PathVariable Long id) {
+        return ResponseEntity.ok(catalogImportService.retry(id));
+    }
+
+    private static ImportJob.Format resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return ImportJob.Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format: " + format + ". Use csv or ndjson");
+            }
+        }
+        if (contentType != null) {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            if (mediaType.getSubtype().equalsIgnoreCase("csv")) {
+                return ImportJob.Format.CSV;
+            }
+            if (mediaType.getSubtype().equalsIgnoreCase("x-ndjson") || mediaType.getSubtype().equalsIgnoreCase("jsonl")) {
+                return ImportJob.Format.NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Import format unknown: send text/csv or application/x-ndjson, or set format");
+    }
+}
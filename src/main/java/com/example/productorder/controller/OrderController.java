@@ -1,9 +1,12 @@
 package com.example.productorder.controller;
 
+import com.example.productorder.dto.CustomerOrderHistoryDTO;
 import com.example.productorder.dto.OrderRequestDTO;
 import com.example.productorder.dto.OrderResponseDTO;
 import com.example.productorder.model.Order;
+import com.example.productorder.service.ETags;
 import com.example.productorder.service.OrderService;
+import com.example.productorder.web.StreamingListWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,11 +16,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -26,27 +32,45 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final StreamingListWriter streamingListWriter;
 
-    @Operation(summary = "Lấy danh sách tất cả đơn hàng", description = "Trả về danh sách tất cả đơn hàng trong hệ thống")
+    @Value("${app.orders.stream-page-size:500}")
+    private int streamPageSize;
+
+    @Operation(summary = "Lấy danh sách tất cả đơn hàng", description = "Trả về danh sách tất cả đơn hàng trong hệ thống. " +
+            "Dữ liệu được stream theo từng trang; hỗ trợ Accept: application/json, application/x-jackson-smile, application/cbor")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDTO.class)))
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDTO.class)),
+                            @Content(mediaType = "application/x-jackson-smile"),
+                            @Content(mediaType = "application/cbor")
+                    })
     })
     @GetMapping
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        return ResponseEntity.ok(orderService.getAllOrders());
+    public ResponseEntity<StreamingResponseBody> getAllOrders(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return streamingListWriter.write(accept,
+                afterId -> orderService.getOrdersPage(null, afterId, streamPageSize),
+                OrderResponseDTO::getId);
     }
 
     @Operation(summary = "Lấy đơn hàng theo ID", description = "Trả về thông tin chi tiết của một đơn hàng")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tìm thấy đơn hàng",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Đơn hàng không thay đổi (If-None-Match)", content = @Content),
             @ApiResponse(responseCode = "404", description = "Không tìm thấy đơn hàng", content = @Content)
     })
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponseDTO> getOrderById(
-            @Parameter(description = "ID của đơn hàng") @PathVariable Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+            @Parameter(description = "ID của đơn hàng") @PathVariable Long id, WebRequest request) {
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(orderService.getOrderETag(id))) {
+            return null;
+        }
+        OrderResponseDTO order = orderService.getOrderById(id);
+        return ResponseEntity.ok().eTag(ETags.order(order.getId(), order.getUpdatedAt())).body(order);
     }
 
     @Operation(summary = "Lấy đơn hàng theo mã đơn hàng", description = "Tìm đơn hàng theo order number")
@@ -61,17 +85,43 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrderByOrderNumber(orderNumber));
     }
 
-    @Operation(summary = "Lấy đơn hàng theo trạng thái", description = "Lọc đơn hàng theo trạng thái")
+    @Operation(summary = "Lịch sử đơn hàng của khách hàng",
+            description = "Tìm theo email hoặc số điện thoại (đã chuẩn hóa), mới nhất trước. " +
+                    "Phân trang bằng con trỏ: truyền nextCursor của trang trước vào tham số before")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Thành công",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CustomerOrderHistoryDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Thiếu email và số điện thoại", content = @Content)
+    })
+    @GetMapping("/customer")
+    public ResponseEntity<CustomerOrderHistoryDTO> getCustomerOrderHistory(
+            @Parameter(description = "Email khách hàng") @RequestParam(required = false) String email,
+            @Parameter(description = "Số điện thoại khách hàng") @RequestParam(required = false) String phone,
+            @Parameter(description = "Con trỏ trang (nextCursor của trang trước)") @RequestParam(required = false) Long before,
+            @Parameter(description = "Số đơn hàng mỗi trang (tối đa 100)")
+            @RequestParam(defaultValue = "" + OrderService.DEFAULT_HISTORY_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(orderService.getCustomerOrderHistory(email, phone, before, size));
+    }
+
+    @Operation(summary = "Lấy đơn hàng theo trạng thái", description = "Lọc đơn hàng theo trạng thái. " +
+            "Dữ liệu được stream theo từng trang; hỗ trợ JSON, Smile và CBOR qua header Accept")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDTO.class)))
+                    content = {
+                            @Content(mediaType = "application/json", schema = @Schema(implementation = OrderResponseDTO.class)),
+                            @Content(mediaType = "application/x-jackson-smile"),
+                            @Content(mediaType = "application/cbor")
+                    })
     })
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByStatus(
+    public ResponseEntity<StreamingResponseBody> getOrdersByStatus(
             @Parameter(description = "Trạng thái đơn hàng",
                     schema = @Schema(implementation = Order.OrderStatus.class))
-            @PathVariable Order.OrderStatus status) {
-        return ResponseEntity.ok(orderService.getOrdersByStatus(status));
+            @PathVariable Order.OrderStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        return streamingListWriter.write(accept,
+                afterId -> orderService.getOrdersPage(status, afterId, streamPageSize),
+                OrderResponseDTO::getId);
     }
 
     @Operation(summary = "Tạo đơn hàng mới", description = "Tạo một đơn hàng mới với danh sách sản phẩm")
@@ -1,10 +1,18 @@
 package com.example.productorder.controller;
 
 import com.example.productorder.dto.ProductDTO;
+import com.example.productorder.dto.ProductFields;
+import com.example.productorder.dto.ProductResponseDTO;
+import com.example.productorder.dto.ProductSummaryDTO;
+import com.example.productorder.dto.StockAdjustmentDTO;
 import com.example.productorder.model.Product;
+import com.example.productorder.service.ETags;
 import com.example.productorder.service.ProductService;
+import com.example.productorder.stream.ProductStreamService;
+import com.example.productorder.stream.ProductUpdate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,11 +20,19 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/products")
@@ -25,66 +41,115 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductStreamService productStreamService;
 
-    @Operation(summary = "Lấy danh sách tất cả sản phẩm", description = "Trả về danh sách tất cả sản phẩm có trong hệ thống")
+    @Operation(summary = "Lấy danh sách tất cả sản phẩm", description = "Trả về danh sách tất cả sản phẩm ở dạng rút gọn " +
+            "(id, name, price, stock, thumb), không kèm mô tả. Dùng fields để chọn trường. " +
+            "Hỗ trợ ETag: gửi If-None-Match để nhận 304 khi danh mục không đổi")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductSummaryDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Danh mục không thay đổi", content = @Content),
+            @ApiResponse(responseCode = "400", description = "Trường không hợp lệ trong fields", content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<List<?>> getAllProducts(
+            @Parameter(description = "Các trường cần trả về, ví dụ: id,name,price (không hỗ trợ description)")
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = ProductFields.parse(fields, ProductFields.LIST);
+        // Checked against the catalog version before the list is loaded or serialized. The version query only
+        // runs for conditional requests; otherwise the tag comes from the (usually cached) list below
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(productService.getCatalogETag())) {
+            return null;
+        }
+        // Not streamed like the order lists: the catalog is already held whole in the productCatalog cache
+        // (and revalidated by ETag), so paging it from the database would only add queries
+        List<Product> products = productService.getAllProducts();
+        return ResponseEntity.ok().eTag(ETags.catalog(products)).body(listView(products, selected));
     }
 
-    @Operation(summary = "Lấy sản phẩm theo ID", description = "Trả về thông tin chi tiết của một sản phẩm")
+    @Operation(summary = "Theo dõi thay đổi tồn kho và giá",
+            description = "Server-Sent Events: mỗi sự kiện \"product\" chứa id, price, stock, updatedAt. " +
+                    "Không truyền ids để nhận thay đổi của mọi sản phẩm")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Luồng sự kiện",
+                    content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = ProductUpdate.class))),
+            @ApiResponse(responseCode = "503", description = "Quá nhiều kết nối", content = @Content)
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductChanges(
+            @Parameter(description = "Danh sách ID sản phẩm cần theo dõi") @RequestParam(required = false) List<Long> ids) {
+        return productStreamService.subscribe(ids == null ? Set.of() : new HashSet<>(ids));
+    }
+
+    @Operation(summary = "Lấy sản phẩm theo ID", description = "Trả về thông tin chi tiết của một sản phẩm. Dùng fields để chọn trường")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tìm thấy sản phẩm",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponseDTO.class))),
+            @ApiResponse(responseCode = "304", description = "Sản phẩm không thay đổi (If-None-Match)", content = @Content),
             @ApiResponse(responseCode = "404", description = "Không tìm thấy sản phẩm", content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(
-            @Parameter(description = "ID của sản phẩm") @PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductById(id));
+    public ResponseEntity<?> getProductById(
+            @Parameter(description = "ID của sản phẩm") @PathVariable Long id,
+            @Parameter(description = "Các trường cần trả về, ví dụ: id,name,price,stock")
+            @RequestParam(required = false) String fields,
+            WebRequest request) {
+        Set<String> selected = ProductFields.parse(fields, ProductFields.DETAIL);
+        // Only conditional requests pay for the version query; a plain GET stays a cache hit
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                && request.checkNotModified(productService.getProductETag(id))) {
+            return null;
+        }
+        // The tag of the full response comes from the body actually sent, which may be a cached copy
+        Product product = productService.getProductById(id);
+        Object body = selected == null ? ProductResponseDTO.fromProduct(product) : ProductFields.select(product, selected);
+        return ResponseEntity.ok().eTag(ETags.product(product)).body(body);
     }
 
-    @Operation(summary = "Tìm kiếm sản phẩm theo tên", description = "Tìm kiếm sản phẩm theo tên (không phân biệt hoa thường)")
+    @Operation(summary = "Tìm kiếm sản phẩm theo tên", description = "Tìm kiếm sản phẩm theo tên (không phân biệt hoa thường), " +
+            "trả về dạng rút gọn như danh sách sản phẩm")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class)))
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductSummaryDTO.class)))
     })
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(
-            @Parameter(description = "Tên sản phẩm cần tìm") @RequestParam String name) {
-        return ResponseEntity.ok(productService.searchProductsByName(name));
+    public ResponseEntity<List<?>> searchProducts(
+            @Parameter(description = "Tên sản phẩm cần tìm") @RequestParam String name,
+            @Parameter(description = "Các trường cần trả về (không hỗ trợ description)")
+            @RequestParam(required = false) String fields) {
+        Set<String> selected = ProductFields.parse(fields, ProductFields.LIST);
+        return ResponseEntity.ok(listView(productService.searchProductsByName(ProductService.searchTerm(name)), selected));
     }
 
     @Operation(summary = "Tạo sản phẩm mới", description = "Thêm một sản phẩm mới vào hệ thống")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Tạo sản phẩm thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponseDTO.class))),
             @ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ", content = @Content)
     })
     @PostMapping
-    public ResponseEntity<Product> createProduct(
+    public ResponseEntity<ProductResponseDTO> createProduct(
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Thông tin sản phẩm mới",
                     required = true,
                     content = @Content(schema = @Schema(implementation = ProductDTO.class)))
             @Valid @RequestBody ProductDTO productDTO) {
         Product createdProduct = productService.createProduct(productDTO);
-        return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ProductResponseDTO.fromProduct(createdProduct));
     }
 
     @Operation(summary = "Cập nhật sản phẩm", description = "Cập nhật thông tin của một sản phẩm đã có")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cập nhật thành công",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Product.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProductResponseDTO.class))),
             @ApiResponse(responseCode = "404", description = "Không tìm thấy sản phẩm", content = @Content),
             @ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ", content = @Content)
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(
+    public ResponseEntity<ProductResponseDTO> updateProduct(
             @Parameter(description = "ID của sản phẩm cần cập nhật") @PathVariable Long id,
             @io.swagger.v3.oas.annotations.parameters.RequestBody(
                     description = "Thông tin sản phẩm mới",
@@ -92,7 +157,7 @@ public class ProductController {
                     content = @Content(schema = @Schema(implementation = ProductDTO.class)))
             @Valid @RequestBody ProductDTO productDTO) {
         Product updatedProduct = productService.updateProduct(id, productDTO);
-        return ResponseEntity.ok(updatedProduct);
+        return ResponseEntity.ok(ProductResponseDTO.fromProduct(updatedProduct));
     }
 
     @Operation(summary = "Xóa sản phẩm", description = "Xóa một sản phẩm khỏi hệ thống")
@@ -108,11 +173,43 @@ public class ProductController {
     }
 
     @PatchMapping("/{id}/stock")
-    public ResponseEntity<Product> updateStock(
+    public ResponseEntity<ProductResponseDTO> updateStock(
             @PathVariable Long id,
             @RequestParam Integer quantity) {
         Product updatedProduct = productService.updateStock(id, quantity);
-        return ResponseEntity.ok(updatedProduct);
+        return ResponseEntity.ok(ProductResponseDTO.fromProduct(updatedProduct));
+    }
+
+    @Operation(summary = "Điều chỉnh tồn kho hàng loạt",
+               description = "Đồng bộ tồn kho từ kho hàng: mỗi phần tử có productId và delta (cộng thêm) hoặc absolute " +
+                       "(gán giá trị). Áp dụng tất cả trong một transaction; không áp dụng gì nếu có sản phẩm không tồn tại " +
+                       "hoặc tồn kho bị âm")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cập nhật thành công"),
+            @ApiResponse(responseCode = "400", description = "Dữ liệu không hợp lệ hoặc tồn kho không đủ", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Không tìm thấy sản phẩm", content = @Content)
+    })
+    @PatchMapping("/stock")
+    public ResponseEntity<Map<String, String>> adjustStock(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Danh sách điều chỉnh tồn kho",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = StockAdjustmentDTO.class))))
+            @RequestBody List<StockAdjustmentDTO> adjustments) {
+        int updated = productService.adjustStock(adjustments);
+
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Adjusted stock of " + updated + " products");
+        response.put("status", "success");
+
+        return ResponseEntity.ok(response);
+    }
+
+    private List<?> listView(List<Product> products, Set<String> fields) {
+        if (fields == null) {
+            return products.stream().map(ProductSummaryDTO::fromProduct).toList();
+        }
+        return ProductFields.select(products, fields);
     }
 }
 
@@ -0,0 +1,51 @@
+package com.example.productorder.controller;
+
+import com.example.productorder.model.DailySales;
+import com.example.productorder.model.OrderStatusCount;
+import com.example.productorder.model.ProductSales;
+import com.example.productorder.service.SalesReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "API báo cáo doanh số")
+public class ReportController {
+
+    private final SalesReportService salesReportService;
+
+    @Operation(summary = "Doanh thu theo ngày", description = "Số đơn hàng và doanh thu mỗi ngày (không tính đơn đã hủy)")
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<List<DailySales>> getDailyRevenue(
+            @Parameter(description = "Từ ngày (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Đến ngày (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(salesReportService.getDailyRevenue(from, to));
+    }
+
+    @Operation(summary = "Số đơn hàng theo trạng thái", description = "Số lượng đơn hàng hiện tại ở mỗi trạng thái")
+    @GetMapping("/orders/status")
+    public ResponseEntity<List<OrderStatusCount>> getOrderCountsByStatus() {
+        return ResponseEntity.ok(salesReportService.getOrderCountsByStatus());
+    }
+
+    @Operation(summary = "Sản phẩm bán chạy", description = "Top sản phẩm theo số lượng đã bán (không tính đơn đã hủy)")
+    @GetMapping("/products/top")
+    public ResponseEntity<List<ProductSales>> getTopProducts(
+            @Parameter(description = "Số sản phẩm trả về") @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(salesReportService.getTopProducts(Math.max(1, Math.min(limit, 100))));
+    }
+}
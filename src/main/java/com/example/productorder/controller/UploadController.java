@@ -1,6 +1,7 @@
 package com.example.productorder.controller;
 
 import com.example.productorder.dto.ImageUploadResponseDTO;
+import com.example.productorder.resilience.DependencyUnavailableException;
 import com.example.productorder.service.S3Service;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -69,6 +70,11 @@ public class UploadController {
             return ResponseEntity.badRequest()
                     .body(new ImageUploadResponseDTO(null, e.getMessage(), null));
 
+        } catch (DependencyUnavailableException e) {
+            log.warn("S3 unavailable, image not uploaded: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ImageUploadResponseDTO(null, "Image storage is temporarily unavailable, retry later", null));
+
         } catch (IOException e) {
             log.error("Failed to upload image", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -130,6 +136,9 @@ public class UploadController {
                     .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + filename + "\"")
                     .body(resource);
 
+        } catch (DependencyUnavailableException e) {
+            log.warn("S3 unavailable, cannot serve image {}/{}: {}", folder, filename, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             log.error("Failed to get image: {}/{}", folder, filename, e);
             return ResponseEntity.notFound().build();
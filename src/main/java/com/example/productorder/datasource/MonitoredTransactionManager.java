@@ -0,0 +1,59 @@
+package com.example.productorder.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * Decorates the application's transaction manager so every transaction it begins is reported to
+ * {@link TransactionMonitor}, whether it was started by {@code @Transactional}, a
+ * {@code TransactionTemplate} or a repository method.
+ */
+class MonitoredTransactionManager implements PlatformTransactionManager {
+
+    private final PlatformTransactionManager delegate;
+    private final ObjectProvider<TransactionMonitor> monitorProvider;
+    private volatile TransactionMonitor monitor;
+
+    MonitoredTransactionManager(PlatformTransactionManager delegate, ObjectProvider<TransactionMonitor> monitorProvider) {
+        this.delegate = delegate;
+        this.monitorProvider = monitorProvider;
+    }
+
+    @Override
+    public TransactionStatus getTransaction(TransactionDefinition definition) {
+        // Started before begin, so the measured time includes getting the connection
+        long start = System.nanoTime();
+        TransactionStatus status = delegate.getTransaction(definition);
+        monitor().started(status, start);
+        return status;
+    }
+
+    @Override
+    public void commit(TransactionStatus status) {
+        try {
+            delegate.commit(status);
+        } finally {
+            monitor().completed(status);
+        }
+    }
+
+    @Override
+    public void rollback(TransactionStatus status) {
+        try {
+            delegate.rollback(status);
+        } finally {
+            monitor().completed(status);
+        }
+    }
+
+    private TransactionMonitor monitor() {
+        TransactionMonitor current = monitor;
+        if (current == null) {
+            current = monitorProvider.getObject();
+            monitor = current;
+        }
+        return current;
+    }
+}
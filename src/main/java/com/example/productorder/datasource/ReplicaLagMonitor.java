@@ -0,0 +1,103 @@
+package com.example.productorder.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks which replicas are fresh enough to serve reads. The primary writes a heartbeat row
+ * ({@code replication_heartbeat}) on every check; a replica's lag is how far behind that row it is.
+ * Replicas whose lag exceeds {@code maxLag}, or that cannot be queried, are skipped by
+ * {@link ReplicaRoutingDataSource} until they catch up. A zero {@code maxLag} disables the check.
+ * <p>
+ * Owns the replica pools and closes them on shutdown.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private static final String UPDATE_HEARTBEAT = "UPDATE replication_heartbeat SET beat_millis = ? WHERE id = 1";
+    private static final String SELECT_HEARTBEAT = "SELECT beat_millis FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final Map<String, DataSource> replicas;
+    private final Duration maxLag;
+    private volatile List<String> healthyReplicas;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.maxLag = maxLag;
+        // Until the first check has run, only trust replicas when lag checking is off
+        this.healthyReplicas = maxLag.isZero() ? List.copyOf(replicas.keySet()) : List.of();
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<String> healthyReplicas() {
+        return healthyReplicas;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.lag-check-interval-ms:2000}")
+    public void check() {
+        if (maxLag.isZero()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            primary.update(UPDATE_HEARTBEAT, now);
+        } catch (Exception e) {
+            log.warn("Could not write replication heartbeat on primary: {}", e.getMessage());
+            return;
+        }
+
+        List<String> healthy = new ArrayList<>(replicas.size());
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            String name = replica.getKey();
+            boolean wasHealthy = healthyReplicas.contains(name);
+            Long lastBeat = readHeartbeat(name, replica.getValue());
+            // The heartbeat written this round may not have arrived yet, so lag is measured from the previous one
+            long lagMillis = lastBeat == null ? Long.MAX_VALUE : now - lastBeat;
+            boolean fresh = lagMillis <= maxLag.toMillis();
+            if (fresh) {
+                healthy.add(name);
+            }
+            if (fresh != wasHealthy) {
+                if (fresh) {
+                    log.info("Replica {} caught up (lag {} ms), routing reads to it", name, lagMillis);
+                } else {
+                    log.warn("Replica {} lag exceeds {} ms, routing its reads to primary", name, maxLag.toMillis());
+                }
+            }
+        }
+        healthyReplicas = List.copyOf(healthy);
+    }
+
+    private Long readHeartbeat(String name, DataSource replica) {
+        try {
+            return new JdbcTemplate(replica).queryForObject(SELECT_HEARTBEAT, Long.class);
+        } catch (Exception e) {
+            log.debug("Could not read heartbeat from replica {}: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (DataSource replica : replicas.values()) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
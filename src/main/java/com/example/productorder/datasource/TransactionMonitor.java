@@ -0,0 +1,122 @@
+package com.example.productorder.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every transaction the application begins ({@code app.transaction.duration}, tagged by the
+ * method that started it) and logs the method when it runs longer than
+ * {@code app.datasource.long-transaction-threshold}. Transactions that are still open past the
+ * threshold are reported by a periodic check, so a stuck call is visible before it finishes (or
+ * exhausts the pool).
+ * <p>
+ * Fed by {@link MonitoredTransactionManager}, so {@code @Transactional} methods, {@code TransactionTemplate}
+ * callers and {@code REQUIRES_NEW} inner transactions are all covered. The measured time runs from
+ * begin to the end of commit or rollback; calls joining an existing transaction are accounted to the
+ * method that started it.
+ */
+@Component
+@Slf4j
+public class TransactionMonitor {
+
+    private static final String APP_PACKAGE = "com.example.productorder.";
+    private static final Set<String> MONITOR_CLASSES =
+            Set.of(TransactionMonitor.class.getName(), MonitoredTransactionManager.class.getName());
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TransactionStatus, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    @Value("${app.datasource.long-transaction-threshold:2s}")
+    private Duration threshold;
+
+    public TransactionMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void started(TransactionStatus status, long startNanos) {
+        if (!status.isNewTransaction()) {
+            return;
+        }
+        inFlight.put(status, new InFlight(callerMethod(), Thread.currentThread().getName(), startNanos));
+    }
+
+    void completed(TransactionStatus status) {
+        InFlight call = inFlight.remove(status);
+        if (call == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - call.startNanos;
+        Timer.builder("app.transaction.duration")
+                .tag("method", call.method)
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        if (elapsed > threshold.toNanos()) {
+            log.warn("Long transaction: {} took {} ms (threshold {} ms)",
+                    call.method, TimeUnit.NANOSECONDS.toMillis(elapsed), threshold.toMillis());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.long-transaction-check-interval-ms:5000}")
+    public void reportOpenTransactions() {
+        long now = System.nanoTime();
+        inFlight.values().forEach(call -> {
+            long elapsed = now - call.startNanos;
+            if (elapsed > threshold.toNanos() && !call.reported) {
+                call.reported = true;
+                log.warn("Transaction still open: {} on thread {} for {} ms",
+                        call.method, call.thread, TimeUnit.NANOSECONDS.toMillis(elapsed));
+            }
+        });
+    }
+
+    // Innermost application frame that began the transaction: the @Transactional method (through its
+    // proxy), or the method calling TransactionTemplate or a repository
+    private static String callerMethod() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE)
+                        && !MONITOR_CLASSES.contains(frame.getClassName()))
+                .findFirst()
+                .map(frame -> simpleClassName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse("unknown"));
+    }
+
+    private static String simpleClassName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int proxySuffix = name.indexOf("$$");
+        return proxySuffix < 0 ? name : name.substring(0, proxySuffix);
+    }
+
+    // lambda$createOrder$3 -> createOrder
+    private static String methodName(String method) {
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            return end < 0 ? method : method.substring("lambda$".length(), end);
+        }
+        return method;
+    }
+
+    private static final class InFlight {
+        private final String method;
+        private final String thread;
+        private final long startNanos;
+        private volatile boolean reported;
+
+        private InFlight(String method, String thread, long startNanos) {
+            this.method = method;
+            this.thread = thread;
+            this.startNanos = startNanos;
+        }
+    }
+}
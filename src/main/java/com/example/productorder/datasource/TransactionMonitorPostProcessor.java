@@ -0,0 +1,29 @@
+package com.example.productorder.datasource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Wraps the transaction manager in a {@link MonitoredTransactionManager}. The monitor is looked up
+ * lazily, so this post-processor does not force the meter registry to be created early.
+ */
+@Component
+public class TransactionMonitorPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<TransactionMonitor> monitor;
+
+    public TransactionMonitorPostProcessor(ObjectProvider<TransactionMonitor> monitor) {
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof PlatformTransactionManager transactionManager
+                && !(bean instanceof MonitoredTransactionManager)) {
+            return new MonitoredTransactionManager(transactionManager, monitor);
+        }
+        return bean;
+    }
+}
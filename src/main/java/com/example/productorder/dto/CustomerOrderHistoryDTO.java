@@ -0,0 +1,18 @@
+package com.example.productorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderHistoryDTO {
+
+    private List<OrderResponseDTO> orders;
+
+    // Pass as "before" to fetch the next page; null when there are no older orders
+    private Long nextCursor;
+}
@@ -20,6 +20,7 @@ public class OrderResponseDTO {
     private String customerEmail;
     private String customerPhone;
     private BigDecimal totalAmount;
+    private String currency;
     private Order.OrderStatus status;
     private List<OrderItemResponseDTO> items;
     private LocalDateTime createdAt;
@@ -34,6 +35,7 @@ public class OrderResponseDTO {
         private String productName;
         private Integer quantity;
         private BigDecimal price;
+        private BigDecimal discount;
         private BigDecimal subtotal;
     }
 }
@@ -1,9 +1,11 @@
 package com.example.productorder.dto;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,6 +19,9 @@ public class ProductDTO {
 
     private Long id;
 
+    @Size(max = 64, message = "SKU must be at most 64 characters")
+    private String sku;
+
     @NotBlank(message = "Product name is required")
     private String name;
 
@@ -24,6 +29,7 @@ public class ProductDTO {
 
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0", inclusive = false, message = "Price must be greater than 0")
+    @Digits(integer = 17, fraction = 2, message = "Price must have at most 2 decimal places")
     private BigDecimal price;
 
     @NotNull(message = "Stock is required")
@@ -0,0 +1,80 @@
+package com.example.productorder.dto;
+
+import com.example.productorder.model.Product;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Sparse fieldsets for product responses ({@code ?fields=id,name,price}). Fields are written in a
+ * fixed order regardless of the order requested; unknown fields are rejected.
+ */
+public final class ProductFields {
+
+    private static final Map<String, Function<Product, Object>> ACCESSORS = new LinkedHashMap<>();
+
+    static {
+        ACCESSORS.put("id", Product::getId);
+        ACCESSORS.put("sku", Product::getSku);
+        ACCESSORS.put("name", Product::getName);
+        ACCESSORS.put("description", Product::getDescription);
+        ACCESSORS.put("price", Product::getPrice);
+        ACCESSORS.put("stock", Product::getStock);
+        ACCESSORS.put("thumb", Product::getImageUrl);
+        ACCESSORS.put("imageUrl", Product::getImageUrl);
+        ACCESSORS.put("createdAt", Product::getCreatedAt);
+        ACCESSORS.put("updatedAt", Product::getUpdatedAt);
+    }
+
+    // Fields available on single-product endpoints
+    public static final Set<String> DETAIL = Collections.unmodifiableSet(new LinkedHashSet<>(ACCESSORS.keySet()));
+
+    // Fields available on list and search endpoints: everything except the description
+    public static final Set<String> LIST = Collections.unmodifiableSet(new LinkedHashSet<>(
+            ACCESSORS.keySet().stream().filter(field -> !field.equals("description")).toList()));
+
+    private ProductFields() {
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter. Returns null when absent, meaning the
+     * endpoint's default view.
+     */
+    public static Set<String> parse(String fields, Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new IllegalArgumentException("Unknown or unavailable field: " + name
+                        + ". Allowed: " + String.join(",", allowed));
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? null : selected;
+    }
+
+    public static Map<String, Object> select(Product product, Set<String> fields) {
+        Map<String, Object> view = new LinkedHashMap<>();
+        ACCESSORS.forEach((name, accessor) -> {
+            if (fields.contains(name)) {
+                view.put(name, accessor.apply(product));
+            }
+        });
+        return view;
+    }
+
+    public static List<Map<String, Object>> select(List<Product> products, Set<String> fields) {
+        return products.stream().map(product -> select(product, fields)).toList();
+    }
+}
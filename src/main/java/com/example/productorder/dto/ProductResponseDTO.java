@@ -0,0 +1,39 @@
+package com.example.productorder.dto;
+
+import com.example.productorder.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Full product view, returned by the single-product endpoints
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductResponseDTO {
+
+    private Long id;
+    private String sku;
+    private String name;
+    private String description;
+    private BigDecimal price;
+    private Integer stock;
+    private String imageUrl;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public static ProductResponseDTO fromProduct(Product product) {
+        return new ProductResponseDTO(
+                product.getId(),
+                product.getSku(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getStock(),
+                product.getImageUrl(),
+                product.getCreatedAt(),
+                product.getUpdatedAt());
+    }
+}
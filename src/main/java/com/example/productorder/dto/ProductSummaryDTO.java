@@ -0,0 +1,32 @@
+package com.example.productorder.dto;
+
+import com.example.productorder.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Compact view used by list and search responses; never carries the description
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryDTO {
+
+    private Long id;
+    private String name;
+    private BigDecimal price;
+    private Integer stock;
+
+    // Image to show in listings; products only have a single image today
+    private String thumb;
+
+    public static ProductSummaryDTO fromProduct(Product product) {
+        return new ProductSummaryDTO(
+                product.getId(),
+                product.getName(),
+                product.getPrice(),
+                product.getStock(),
+                product.getImageUrl());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.productorder.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One line of a bulk stock adjustment: either a delta added to the current stock or an absolute value
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentDTO {
+
+    private Long productId;
+    private Integer delta;
+    private Integer absolute;
+}
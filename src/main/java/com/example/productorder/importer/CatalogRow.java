@@ -0,0 +1,11 @@
+package com.example.productorder.importer;
+
+import java.math.BigDecimal;
+
+/**
+ * One product record of a catalog import file, keyed by supplier SKU. NDJSON lines are bound
+ * directly to this record; CSV columns are matched by header name.
+ */
+public record CatalogRow(String sku, String name, String description, BigDecimal price, Integer stock,
+                         String imageUrl) {
+}
@@ -0,0 +1,16 @@
+package com.example.productorder.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads catalog records one at a time, so a file is never held in memory as a whole.
+ */
+public interface CatalogRowReader extends Closeable {
+
+    /**
+     * Returns the next record, or null at the end of the input. Throws {@link IllegalArgumentException}
+     * for a malformed record; the reader is then positioned after it and can keep going.
+     */
+    CatalogRow next() throws IOException;
+}
@@ -0,0 +1,124 @@
+package com.example.productorder.importer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns ({@code sku,name,description,price,stock,image_url},
+ * in any order; {@code imageUrl} is accepted too). Quoted fields may contain commas, doubled quotes
+ * and line breaks. Blank lines are skipped and do not count as records.
+ */
+public class CsvCatalogRowReader implements CatalogRowReader {
+
+    private final BufferedReader in;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    public CsvCatalogRowReader(BufferedReader in) throws IOException {
+        this.in = in;
+
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV input is empty");
+        }
+        // Header names are matched ignoring case, underscores and a spreadsheet byte order mark
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).trim().replace("\uFEFF", "").replace("_", "").toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : List.of("sku", "name", "price", "stock")) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("CSV header is missing column: " + required);
+            }
+        }
+    }
+
+    @Override
+    public CatalogRow next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isBlank());
+
+        String price = field(fields, "price");
+        String stock = field(fields, "stock");
+        try {
+            return new CatalogRow(
+                    field(fields, "sku"),
+                    field(fields, "name"),
+                    field(fields, "description"),
+                    price == null ? null : new BigDecimal(price.trim()),
+                    stock == null ? null : Integer.valueOf(stock.trim()),
+                    field(fields, "imageurl"));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in price/stock: " + price + "/" + stock);
+        }
+    }
+
+    // Empty cells read as null
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    // One record, which may span several lines when a quoted field contains line breaks; null at end of input
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean read = false;
+
+        int c;
+        while ((c = in.read()) != -1) {
+            read = true;
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        in.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+
+        if (!read) {
+            return null;
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field at end of input");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
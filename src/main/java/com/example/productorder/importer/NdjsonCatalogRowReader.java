@@ -0,0 +1,44 @@
+package com.example.productorder.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Newline-delimited JSON: one product object per line. Blank lines are skipped and do not count as records.
+ */
+public class NdjsonCatalogRowReader implements CatalogRowReader {
+
+    private final BufferedReader in;
+    private final ObjectReader rowReader;
+
+    public NdjsonCatalogRowReader(BufferedReader in, ObjectMapper objectMapper) {
+        this.in = in;
+        this.rowReader = objectMapper.readerFor(CatalogRow.class);
+    }
+
+    @Override
+    public CatalogRow next() throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
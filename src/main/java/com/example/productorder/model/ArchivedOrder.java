@@ -0,0 +1,101 @@
+package com.example.productorder.model;
+
+import com.example.productorder.money.Money;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A delivered or cancelled order moved out of {@code orders} by the archival job.
+ * Keeps the original id and order number so lookups can fall back to it transparently.
+ */
+@Entity
+@Table(name = "orders_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_number", nullable = false, unique = true)
+    private String orderNumber;
+
+    @Column(name = "customer_name", nullable = false)
+    private String customerName;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "customer_phone")
+    private String customerPhone;
+
+    @Column(name = "customer_email_normalized")
+    @JsonIgnore
+    private String customerEmailNormalized;
+
+    @Column(name = "customer_phone_normalized", length = 32)
+    @JsonIgnore
+    private String customerPhoneNormalized;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Order.OrderStatus status;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public static ArchivedOrder fromOrder(Order order, LocalDateTime archivedAt) {
+        ArchivedOrder archived = new ArchivedOrder();
+        archived.setId(order.getId());
+        archived.setOrderNumber(order.getOrderNumber());
+        archived.setCustomerName(order.getCustomerName());
+        archived.setCustomerEmail(order.getCustomerEmail());
+        archived.setCustomerPhone(order.getCustomerPhone());
+        archived.setCustomerEmailNormalized(order.getCustomerEmailNormalized());
+        archived.setCustomerPhoneNormalized(order.getCustomerPhoneNormalized());
+        archived.setTotalAmount(Money.toDecimal(order.getTotalAmountMinor()));
+        archived.setCurrency(order.getCurrency());
+        archived.setStatus(order.getStatus());
+        archived.setCreatedAt(order.getCreatedAt());
+        archived.setUpdatedAt(order.getUpdatedAt());
+        archived.setArchivedAt(archivedAt);
+
+        for (OrderItem item : order.getItems()) {
+            ArchivedOrderItem archivedItem = new ArchivedOrderItem();
+            archivedItem.setId(item.getId());
+            archivedItem.setOrder(archived);
+            archivedItem.setProductId(item.getProduct().getId());
+            archivedItem.setProductName(item.getProduct().getName());
+            archivedItem.setQuantity(item.getQuantity());
+            archivedItem.setPrice(Money.toDecimal(item.getPriceMinor()));
+            archivedItem.setDiscount(Money.toDecimal(item.getDiscountMinor()));
+            archivedItem.setSubtotal(Money.toDecimal(item.getSubtotalMinor()));
+            archived.getItems().add(archivedItem);
+        }
+        return archived;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.productorder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Orders and revenue per day of order creation, excluding cancelled orders.
+ * Maintained incrementally by {@link com.example.productorder.service.SalesReportService}.
+ */
+@Entity
+@Table(name = "daily_sales")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailySales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,93 @@
+package com.example.productorder.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Catalog import job and its progress. The uploaded file is spooled to {@code filePath}; records
+ * before {@code rowsProcessed} have been committed and are skipped when the job is resumed.
+ */
+@Entity
+@Table(name = "import_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @JsonIgnore
+    @Column(name = "file_path", nullable = false, length = 1000)
+    private String filePath;
+
+    // Input records consumed (upserted or rejected) and committed
+    @Column(name = "rows_processed", nullable = false)
+    private Long rowsProcessed;
+
+    @Column(name = "rows_upserted", nullable = false)
+    private Long rowsUpserted;
+
+    @Column(name = "rows_rejected", nullable = false)
+    private Long rowsRejected;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public static ImportJob of(Format format, String filePath) {
+        ImportJob job = new ImportJob();
+        job.setFormat(format);
+        job.setStatus(Status.PENDING);
+        job.setFilePath(filePath);
+        job.setRowsProcessed(0L);
+        job.setRowsUpserted(0L);
+        job.setRowsRejected(0L);
+        return job;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -1,11 +1,12 @@
 package com.example.productorder.model;
 
+import com.example.productorder.money.MinorUnitsConverter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,8 +34,21 @@ public class Order {
     @Column(name = "customer_phone")
     private String customerPhone;
 
-    @Column(name = "total_amount", nullable = false)
-    private BigDecimal totalAmount;
+    @Column(name = "customer_email_normalized")
+    @JsonIgnore
+    private String customerEmailNormalized;
+
+    @Column(name = "customer_phone_normalized", length = 32)
+    @JsonIgnore
+    private String customerPhoneNormalized;
+
+    // Minor units of currency (see Money)
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private long totalAmountMinor;
+
+    @Column(nullable = false, length = 3)
+    private String currency;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -0,0 +1,85 @@
+package com.example.productorder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row in the durable order event queue. Written in the order's own transaction, so an event exists
+ * exactly when its order was committed, and picked up by {@code OrderPipelineService}.
+ */
+@Entity
+@Table(name = "order_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private EventType eventType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Not dispatched before this time; pushed back on each failed attempt
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public static OrderEvent of(Long orderId, EventType eventType) {
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(orderId);
+        event.setEventType(eventType);
+        event.setStatus(Status.PENDING);
+        event.setAttempts(0);
+        return event;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum EventType {
+        ORDER_CREATED
+    }
+
+    public enum Status {
+        PENDING,
+        IN_PROGRESS,
+        DONE,
+        FAILED
+    }
+}
@@ -1,13 +1,12 @@
 package com.example.productorder.model;
 
+import com.example.productorder.money.MinorUnitsConverter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "order_items")
 @Data
@@ -31,10 +30,18 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
 
-    @Column(nullable = false)
-    private BigDecimal price;
+    // Amounts in minor units of the order currency (see Money)
+    @Column(name = "price", nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private long priceMinor;
+
+    // Promotion discount on the line; subtotal is price * quantity minus this
+    @Column(name = "discount", nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private long discountMinor;
 
-    @Column(name = "subtotal", nullable = false)
-    private BigDecimal subtotal;
+    @Column(name = "subtotal", nullable = false, precision = 19, scale = 2)
+    @Convert(converter = MinorUnitsConverter.class)
+    private long subtotalMinor;
 }
 
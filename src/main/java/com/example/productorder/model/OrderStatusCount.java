@@ -0,0 +1,25 @@
+package com.example.productorder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of orders currently in each status.
+ * Maintained incrementally by {@link com.example.productorder.service.SalesReportService}.
+ */
+@Entity
+@Table(name = "order_status_counts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusCount {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private Order.OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+}
@@ -19,13 +19,17 @@ public class Product {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Supplier SKU, the key catalog imports upsert on; optional for products created through the API
+    @Column(length = 64, unique = true)
+    private String sku;
+
     @Column(nullable = false)
     private String name;
 
     @Column(length = 1000)
     private String description;
 
-    @Column(nullable = false)
+    @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal price;
 
     @Column(nullable = false)
@@ -0,0 +1,33 @@
+package com.example.productorder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Quantity sold and revenue per product, excluding cancelled orders.
+ * Maintained incrementally by {@link com.example.productorder.service.SalesReportService}.
+ */
+@Entity
+@Table(name = "product_sales")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSales {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+
+    @Column(name = "quantity_sold", nullable = false)
+    private Long quantitySold;
+
+    @Column(nullable = false)
+    private BigDecimal revenue;
+}
@@ -0,0 +1,82 @@
+package com.example.productorder.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A promotion rule for one product. Which fields apply depends on {@link Type}; active rules are
+ * compiled into the in-memory index of {@code PromotionEngine} and never read at checkout.
+ */
+@Entity
+@Table(name = "promotions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Type type;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    // PERCENT_OFF: basis points off the line total (1500 = 15%)
+    @Column(name = "percent_bps")
+    private Integer percentBps;
+
+    // BUY_X_GET_Y: every buyQuantity + freeQuantity units, freeQuantity are free
+    @Column(name = "buy_quantity")
+    private Integer buyQuantity;
+
+    @Column(name = "free_quantity")
+    private Integer freeQuantity;
+
+    // TIERED: "minQuantity:bps,..." e.g. "10:500,50:1000"
+    @Column(length = 500)
+    private String tiers;
+
+    @Column(nullable = false)
+    private Boolean active = true;
+
+    // Optional validity window, checked at evaluation time
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    public enum Type {
+        PERCENT_OFF,
+        BUY_X_GET_Y,
+        TIERED
+    }
+}
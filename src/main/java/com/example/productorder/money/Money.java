@@ -0,0 +1,56 @@
+package com.example.productorder.money;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Money arithmetic on {@code long} minor units (cents), used on the checkout path instead of
+ * {@link BigDecimal}: adding and multiplying are plain, overflow-checked long operations with no
+ * allocation and no rounding. Every stored amount has {@link #SCALE} decimal places, matching the
+ * {@code DECIMAL(19, 2)} money columns, so conversion is exact in both directions; amounts with more
+ * decimal places are rejected rather than rounded. Conversion happens only at the boundaries: prices
+ * read from the catalog, entity columns ({@link MinorUnitsConverter}) and API responses.
+ */
+public final class Money {
+
+    /** Decimal places of every amount, as in the {@code DECIMAL(19, 2)} columns. */
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /**
+     * Exact conversion to minor units. Throws {@link IllegalArgumentException} when the amount has
+     * more than {@link #SCALE} significant decimal places or does not fit in a long.
+     */
+    public static long toMinor(BigDecimal amount) {
+        try {
+            // Fails on a remaining fractional part instead of truncating it
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString()
+                    + " cannot be represented with " + SCALE + " decimal places");
+        }
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long times(long unitMinor, int quantity) {
+        return Math.multiplyExact(unitMinor, quantity);
+    }
+
+    public static long plus(long augendMinor, long addendMinor) {
+        return Math.addExact(augendMinor, addendMinor);
+    }
+
+    /** The ISO 4217 currency for a code, rejecting currencies with more decimal places than {@link #SCALE}. */
+    public static Currency currency(String code) {
+        Currency currency = Currency.getInstance(code);
+        if (currency.getDefaultFractionDigits() > SCALE) {
+            throw new IllegalArgumentException("Currency " + code + " needs more than " + SCALE + " decimal places");
+        }
+        return currency;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.productorder.promotion;
+
+/**
+ * Result of evaluating a basket: for each line, in basket order, the discount in minor units and
+ * the id of the promotion that gave it (0 when none applied).
+ */
+public record BasketDiscounts(long[] lineDiscounts, long[] promotionIds, long totalDiscount) {
+}
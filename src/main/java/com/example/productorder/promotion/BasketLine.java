@@ -0,0 +1,7 @@
+package com.example.productorder.promotion;
+
+/**
+ * One product of a basket: its catalog unit price in minor units and the total quantity ordered.
+ */
+public record BasketLine(long productId, long unitPriceMinor, int quantity) {
+}
@@ -0,0 +1,75 @@
+package com.example.productorder.promotion;
+
+import com.example.productorder.model.Promotion;
+import com.example.productorder.repository.PromotionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prices baskets against the active promotions in-process. Rules are compiled into an immutable
+ * {@link PromotionIndex} and published through a volatile reference: checkouts read whichever
+ * snapshot is current without locking, and a reload builds a new one and swaps it in, so readers
+ * never see a half-built index. Rules are reloaded every {@code reload-interval-ms} and on demand
+ * from the admin API; validity windows are checked at evaluation time.
+ * <p>
+ * Metrics: {@code app.promotions.rules} (compiled rules) and {@code app.promotions.reload}.
+ */
+@Component
+@Slf4j
+public class PromotionEngine {
+
+    private final PromotionRepository promotionRepository;
+    private final Timer reloadTimer;
+    private volatile PromotionIndex index = PromotionIndex.EMPTY;
+
+    @Value("${app.promotions.enabled:true}")
+    private boolean enabled;
+
+    public PromotionEngine(PromotionRepository promotionRepository, MeterRegistry meterRegistry) {
+        this.promotionRepository = promotionRepository;
+        this.reloadTimer = Timer.builder("app.promotions.reload")
+                .description("Time to load and compile the active promotions")
+                .register(meterRegistry);
+        Gauge.builder("app.promotions.rules", this, engine -> engine.index.getRuleCount())
+                .description("Promotion rules in the current snapshot")
+                .register(meterRegistry);
+    }
+
+    public BasketDiscounts evaluate(List<BasketLine> lines) {
+        return index.evaluate(lines, System.currentTimeMillis());
+    }
+
+    // Runs once at startup, then keeps the snapshot in step with the promotions table
+    @Scheduled(fixedDelayString = "${app.promotions.reload-interval-ms:30000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Promotion reload failed, keeping the current {} rules: {}", index.getRuleCount(), e.getMessage());
+        }
+    }
+
+    /** Loads and compiles the active promotions and swaps them in; returns the number of rules. */
+    public synchronized int reload() {
+        if (!enabled) {
+            index = PromotionIndex.EMPTY;
+            return 0;
+        }
+        PromotionIndex next = reloadTimer.record(() -> {
+            List<Promotion> promotions = promotionRepository.findByActiveTrue();
+            return PromotionIndex.compile(promotions);
+        });
+        if (next.getRuleCount() != index.getRuleCount()) {
+            log.info("Loaded {} promotion rules for {} products", next.getRuleCount(), next.getProductCount());
+        }
+        index = next;
+        return next.getRuleCount();
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.productorder.promotion;
+
+import com.example.productorder.model.Promotion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the active promotions, compiled into per-product rule arrays so that a
+ * basket is priced in one pass with a hash lookup per line and no database access. When several
+ * rules apply to a line, the largest discount wins; promotions do not stack. Discounts are in minor
+ * units, percentages rounded down, and never exceed the line total.
+ */
+@Slf4j
+public final class PromotionIndex {
+
+    public static final PromotionIndex EMPTY = new PromotionIndex(Map.of(), 0);
+
+    private static final int BPS_SCALE = 10_000;
+
+    private final Map<Long, CompiledRule[]> rulesByProduct;
+    private final int ruleCount;
+
+    private PromotionIndex(Map<Long, CompiledRule[]> rulesByProduct, int ruleCount) {
+        this.rulesByProduct = rulesByProduct;
+        this.ruleCount = ruleCount;
+    }
+
+    /** Compiles the given promotions; invalid ones are logged and left out. */
+    public static PromotionIndex compile(Collection<Promotion> promotions) {
+        Map<Long, List<CompiledRule>> grouped = new HashMap<>();
+        int count = 0;
+        for (Promotion promotion : promotions) {
+            try {
+                CompiledRule rule = compile(promotion);
+                grouped.computeIfAbsent(promotion.getProductId(), id -> new ArrayList<>()).add(rule);
+                count++;
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping promotion {}: {}", promotion.getId(), e.getMessage());
+            }
+        }
+
+        Map<Long, CompiledRule[]> rulesByProduct = new HashMap<>(grouped.size() * 4 / 3 + 1);
+        grouped.forEach((productId, rules) -> rulesByProduct.put(productId, rules.toArray(CompiledRule[]::new)));
+        return new PromotionIndex(rulesByProduct, count);
+    }
+
+    public BasketDiscounts evaluate(List<BasketLine> lines, long nowMillis) {
+        long[] discounts = new long[lines.size()];
+        long[] promotionIds = new long[lines.size()];
+        long total = 0;
+        for (int i = 0; i < discounts.length; i++) {
+            BasketLine line = lines.get(i);
+            CompiledRule[] rules = rulesByProduct.get(line.productId());
+            if (rules == null) {
+                continue;
+            }
+            long gross = Math.multiplyExact(line.unitPriceMinor(), line.quantity());
+            for (CompiledRule rule : rules) {
+                if (!rule.activeAt(nowMillis)) {
+                    continue;
+                }
+                long discount = Math.min(gross, rule.discount().apply(line.unitPriceMinor(), line.quantity(), gross));
+                if (discount > discounts[i]) {
+                    discounts[i] = discount;
+                    promotionIds[i] = rule.promotionId();
+                }
+            }
+            total += discounts[i];
+        }
+        return new BasketDiscounts(discounts, promotionIds, total);
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public int getProductCount() {
+        return rulesByProduct.size();
+    }
+
+    private static CompiledRule compile(Promotion promotion) {
+        if (promotion.getProductId() == null || promotion.getType() == null) {
+            throw new IllegalArgumentException("productId and type are required");
+        }
+        long startsAt = promotion.getStartsAt() == null ? Long.MIN_VALUE : toMillis(promotion.getStartsAt());
+        long endsAt = promotion.getEndsAt() == null ? Long.MAX_VALUE : toMillis(promotion.getEndsAt());
+        if (endsAt <= startsAt) {
+            throw new IllegalArgumentException("endsAt must be after startsAt");
+        }
+
+        Discount discount = switch (promotion.getType()) {
+            case PERCENT_OFF -> {
+                int bps = requireBps(promotion.getPercentBps());
+                yield (unitPrice, quantity, gross) -> percentOf(gross, bps);
+            }
+            case BUY_X_GET_Y -> {
+                int buy = requirePositive(promotion.getBuyQuantity(), "buyQuantity");
+                int free = requirePositive(promotion.getFreeQuantity(), "freeQuantity");
+                int group = buy + free;
+                yield (unitPrice, quantity, gross) -> Math.multiplyExact(unitPrice, (long) (quantity / group) * free);
+            }
+            case TIERED -> compileTiers(promotion.getTiers());
+        };
+        return new CompiledRule(promotion.getId() == null ? 0 : promotion.getId(), startsAt, endsAt, discount);
+    }
+
+    // "10:500,50:1000": from 10 units 5% off, from 50 units 10% off
+    private static Discount compileTiers(String tiers) {
+        if (tiers == null || tiers.isBlank()) {
+            throw new IllegalArgumentException("tiers are required");
+        }
+        String[] parts = tiers.split(",");
+        int[][] parsed = new int[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            String[] tier = parts[i].trim().split(":");
+            if (tier.length != 2) {
+                throw new IllegalArgumentException("Invalid tier: " + parts[i]);
+            }
+            try {
+                parsed[i] = new int[]{
+                        requirePositive(Integer.parseInt(tier[0].trim()), "tier quantity"),
+                        requireBps(Integer.parseInt(tier[1].trim()))};
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid tier: " + parts[i]);
+            }
+        }
+        Arrays.sort(parsed, (a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] minQuantities = new int[parsed.length];
+        int[] bps = new int[parsed.length];
+        for (int i = 0; i < parsed.length; i++) {
+            if (i > 0 && parsed[i][0] == parsed[i - 1][0]) {
+                throw new IllegalArgumentException("Duplicate tier quantity: " + parsed[i][0]);
+            }
+            minQuantities[i] = parsed[i][0];
+            bps[i] = parsed[i][1];
+        }
+        return (unitPrice, quantity, gross) -> {
+            for (int i = minQuantities.length - 1; i >= 0; i--) {
+                if (quantity >= minQuantities[i]) {
+                    return percentOf(gross, bps[i]);
+                }
+            }
+            return 0;
+        };
+    }
+
+    private static long percentOf(long amount, int bps) {
+        return Math.multiplyExact(amount, bps) / BPS_SCALE;
+    }
+
+    private static int requireBps(Integer bps) {
+        if (bps == null || bps <= 0 || bps > BPS_SCALE) {
+            throw new IllegalArgumentException("Percentage must be between 1 and " + BPS_SCALE + " basis points");
+        }
+        return bps;
+    }
+
+    private static int requirePositive(Integer value, String field) {
+        if (value == null || value <= 0) {
+            throw new IllegalArgumentException(field + " must be positive");
+        }
+        return value;
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface Discount {
+        long apply(long unitPriceMinor, int quantity, long grossMinor);
+    }
+
+    private record CompiledRule(long promotionId, long startsAtMillis, long endsAtMillis, Discount discount) {
+
+        boolean activeAt(long nowMillis) {
+            return nowMillis >= startsAtMillis && nowMillis < endsAtMillis;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.ArchivedOrder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    Optional<ArchivedOrder> findByOrderNumber(String orderNumber);
+
+    @Query("SELECT o.updatedAt FROM ArchivedOrder o WHERE o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    List<ArchivedOrder> findByCustomerEmailNormalizedAndIdLessThanOrderByIdDesc(String email, Long beforeId,
+                                                                                Pageable pageable);
+
+    List<ArchivedOrder> findByCustomerPhoneNormalizedAndIdLessThanOrderByIdDesc(String phone, Long beforeId,
+                                                                                Pageable pageable);
+}
@@ -0,0 +1,30 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.DailySales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    List<DailySales> findBySalesDateBetweenOrderBySalesDateAsc(LocalDate from, LocalDate to);
+
+    // Native: in HQL, DECIMAL column + BigDecimal parameter renders cast(? as numeric($p,$s)), which H2 rejects
+    @Modifying
+    @Query(value = "UPDATE daily_sales SET order_count = order_count + :orders, revenue = revenue + :revenue " +
+            "WHERE sales_date = :date", nativeQuery = true)
+    int increment(@Param("date") LocalDate date, @Param("orders") long orders, @Param("revenue") BigDecimal revenue);
+
+    // Plain INSERT (not save/merge): fails with a duplicate key if the row exists, never overwrites it
+    @Modifying
+    @Query(value = "INSERT INTO daily_sales (sales_date, order_count, revenue) VALUES (:date, 0, 0)",
+            nativeQuery = true)
+    int insertEmpty(@Param("date") LocalDate date);
+}
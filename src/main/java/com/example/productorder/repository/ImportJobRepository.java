@@ -0,0 +1,77 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.ImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    List<ImportJob> findByStatusOrderByIdAsc(ImportJob.Status status);
+
+    // Compare-and-set of the status; statuses are bound as parameters, HQL cannot name nested enum constants
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :to, j.updatedAt = :now WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") Long id, @Param("from") ImportJob.Status from, @Param("to") ImportJob.Status to,
+                   @Param("now") LocalDateTime now);
+
+    // Only one node (or poll) runs a job
+    default int claim(Long id, LocalDateTime now) {
+        return transition(id, ImportJob.Status.PENDING, ImportJob.Status.RUNNING, now);
+    }
+
+    // Hands a job back when its node shuts down mid-run, so it resumes without waiting to go stale
+    default int release(Long id, LocalDateTime now) {
+        return transition(id, ImportJob.Status.RUNNING, ImportJob.Status.PENDING, now);
+    }
+
+    // Progress of one committed batch; also serves as the running job's heartbeat. :error is usually null,
+    // and Hibernate cannot type a null parameter inside COALESCE in a SET clause, hence the CAST.
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.rowsProcessed = :processed, j.rowsUpserted = j.rowsUpserted + :upserted, " +
+            "j.rowsRejected = j.rowsRejected + :rejected, " +
+            "j.lastError = COALESCE(CAST(:error AS String), j.lastError), " +
+            "j.updatedAt = :now WHERE j.id = :id")
+    int recordProgress(@Param("id") Long id, @Param("processed") long processed, @Param("upserted") long upserted,
+                       @Param("rejected") long rejected, @Param("error") String error,
+                       @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.lastError = COALESCE(CAST(:error AS String), j.lastError), " +
+            "j.updatedAt = :now, j.finishedAt = :now WHERE j.id = :id")
+    int finish(@Param("id") Long id, @Param("status") ImportJob.Status status, @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    // Jobs whose node stopped mid-run (no progress heartbeat since staleBefore)
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :pending, j.updatedAt = :now " +
+            "WHERE j.status = :running AND j.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                     @Param("running") ImportJob.Status running, @Param("pending") ImportJob.Status pending);
+
+    default int requeueStale(LocalDateTime staleBefore, LocalDateTime now) {
+        return requeueStale(staleBefore, now, ImportJob.Status.RUNNING, ImportJob.Status.PENDING);
+    }
+
+    // Failed jobs are resumed from their last committed record on request
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :pending, j.finishedAt = NULL, j.updatedAt = :now " +
+            "WHERE j.id = :id AND j.status = :failed")
+    int retry(@Param("id") Long id, @Param("now") LocalDateTime now,
+              @Param("failed") ImportJob.Status failed, @Param("pending") ImportJob.Status pending);
+
+    default int retry(Long id, LocalDateTime now) {
+        return retry(id, now, ImportJob.Status.FAILED, ImportJob.Status.PENDING);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.OrderEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    // Statuses are bound as parameters: HQL cannot name nested enum constants by their dotted path
+    @Query("SELECT e.id FROM OrderEvent e WHERE e.status = :status AND e.availableAt <= :now ORDER BY e.id")
+    List<Long> findIdsByStatusAvailableBefore(@Param("status") OrderEvent.Status status,
+                                              @Param("now") LocalDateTime now, Pageable pageable);
+
+    default List<Long> findDispatchableIds(LocalDateTime now, Pageable pageable) {
+        return findIdsByStatusAvailableBefore(OrderEvent.Status.PENDING, now, pageable);
+    }
+
+    // Compare-and-set of the status
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.status = :to, e.updatedAt = :now WHERE e.id = :id AND e.status = :from")
+    int transition(@Param("id") Long id, @Param("from") OrderEvent.Status from, @Param("to") OrderEvent.Status to,
+                   @Param("now") LocalDateTime now);
+
+    // Only one node (or poll) wins an event
+    default int claim(Long id, LocalDateTime now) {
+        return transition(id, OrderEvent.Status.PENDING, OrderEvent.Status.IN_PROGRESS, now);
+    }
+
+    default int release(Long id, LocalDateTime now) {
+        return transition(id, OrderEvent.Status.IN_PROGRESS, OrderEvent.Status.PENDING, now);
+    }
+
+    // Events left IN_PROGRESS by a node that stopped mid-processing
+    @Transactional
+    @Modifying
+    @Query("UPDATE OrderEvent e SET e.status = :pending, e.updatedAt = :now " +
+            "WHERE e.status = :inProgress AND e.updatedAt < :staleBefore")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore, @Param("now") LocalDateTime now,
+                     @Param("inProgress") OrderEvent.Status inProgress, @Param("pending") OrderEvent.Status pending);
+
+    default int requeueStale(LocalDateTime staleBefore, LocalDateTime now) {
+        return requeueStale(staleBefore, now, OrderEvent.Status.IN_PROGRESS, OrderEvent.Status.PENDING);
+    }
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderEvent e WHERE e.status = :status AND e.updatedAt < :before")
+    int deleteByStatusUpdatedBefore(@Param("status") OrderEvent.Status status, @Param("before") LocalDateTime before);
+
+    default int deleteDoneBefore(LocalDateTime before) {
+        return deleteByStatusUpdatedBefore(OrderEvent.Status.DONE, before);
+    }
+
+    long countByStatus(OrderEvent.Status status);
+}
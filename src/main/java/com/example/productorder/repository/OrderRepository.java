@@ -1,9 +1,17 @@
 package com.example.productorder.repository;
 
 import com.example.productorder.model.Order;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,8 +20,75 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
+    @Query("SELECT o.updatedAt FROM Order o WHERE o.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    // Serializes status transitions on one order (pipeline steps vs. cancellation)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.status = :status AND o.createdAt < :before ORDER BY o.id")
+    List<Order> findByStatusCreatedBeforeForUpdate(@Param("status") Order.OrderStatus status,
+                                                   @Param("before") LocalDateTime before, Pageable pageable);
+
     List<Order> findByCustomerNameContainingIgnoreCase(String customerName);
 
     List<Order> findByStatus(Order.OrderStatus status);
+
+    List<Order> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    List<Order> findByStatusAndIdGreaterThanOrderByIdAsc(Order.OrderStatus status, Long id, Pageable pageable);
+
+    List<Order> findByCustomerEmailNormalizedAndIdLessThanOrderByIdDesc(String email, Long beforeId, Pageable pageable);
+
+    List<Order> findByCustomerPhoneNormalizedAndIdLessThanOrderByIdDesc(String phone, Long beforeId, Pageable pageable);
+
+    @Query("SELECT i.product.id FROM OrderItem i WHERE i.order.createdAt >= :since " +
+            "GROUP BY i.product.id ORDER BY SUM(i.quantity) DESC")
+    List<Long> findTopSellingProductIds(@Param("since") LocalDateTime since, Pageable pageable);
+
+    // Report backfill queries. Archived orders were counted by the incremental updates when they were
+    // placed and archiving does not subtract them, so the backfill reads orders_archive as well.
+
+    // Report backfill: [sales date, order count, revenue] per day for orders not in the excluded status
+    @Query(value = "SELECT t.sales_date, COUNT(*), SUM(t.total_amount) FROM (" +
+            "SELECT CAST(created_at AS DATE) AS sales_date, total_amount FROM orders WHERE status <> :excluded " +
+            "UNION ALL " +
+            "SELECT CAST(created_at AS DATE), total_amount FROM orders_archive WHERE status <> :excluded" +
+            ") t GROUP BY t.sales_date", nativeQuery = true)
+    List<Object[]> sumDailySales(@Param("excluded") String excludedStatus);
+
+    // Report backfill: [status name, order count]
+    @Query(value = "SELECT t.status, COUNT(*) FROM (" +
+            "SELECT status FROM orders UNION ALL SELECT status FROM orders_archive" +
+            ") t GROUP BY t.status", nativeQuery = true)
+    List<Object[]> countByStatus();
+
+    // Report backfill: [product id, product name, quantity, revenue] for orders not in the excluded status.
+    // Native, so the sum is the DECIMAL column total rather than a converted minor-unit attribute. The name
+    // is the current catalogue name, or the name recorded on archived items if the product is gone.
+    @Query(value = "SELECT t.product_id, COALESCE(p.name, MAX(t.product_name)), SUM(t.quantity), SUM(t.subtotal) " +
+            "FROM (" +
+            "SELECT i.product_id, NULL AS product_name, i.quantity, i.subtotal FROM order_items i " +
+            "JOIN orders o ON o.id = i.order_id WHERE o.status <> :excluded " +
+            "UNION ALL " +
+            "SELECT a.product_id, a.product_name, a.quantity, a.subtotal FROM order_items_archive a " +
+            "JOIN orders_archive oa ON oa.id = a.order_id WHERE oa.status <> :excluded" +
+            ") t LEFT JOIN products p ON p.id = t.product_id GROUP BY t.product_id, p.name", nativeQuery = true)
+    List<Object[]> sumProductSales(@Param("excluded") String excludedStatus);
+
+    @Query("SELECT o.id FROM Order o WHERE o.status IN :statuses AND o.updatedAt < :before ORDER BY o.id")
+    List<Long> findIdsForArchive(@Param("statuses") Collection<Order.OrderStatus> statuses,
+                                 @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderItem i WHERE i.order.id IN :orderIds")
+    int deleteItemsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM Order o WHERE o.id IN :orderIds")
+    int deleteByIds(@Param("orderIds") Collection<Long> orderIds);
 }
 
@@ -0,0 +1,22 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.Order;
+import com.example.productorder.model.OrderStatusCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderStatusCountRepository extends JpaRepository<OrderStatusCount, Order.OrderStatus> {
+
+    @Modifying
+    @Query("UPDATE OrderStatusCount c SET c.orderCount = c.orderCount + :delta WHERE c.status = :status")
+    int increment(@Param("status") Order.OrderStatus status, @Param("delta") long delta);
+
+    // Plain INSERT (not save/merge): fails with a duplicate key if the row exists, never overwrites it
+    @Modifying
+    @Query(value = "INSERT INTO order_status_counts (status, order_count) VALUES (:status, 0)", nativeQuery = true)
+    int insertEmpty(@Param("status") String status);
+}
@@ -0,0 +1,120 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.dto.StockAdjustmentDTO;
+import com.example.productorder.importer.CatalogRow;
+import com.example.productorder.model.Product;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JDBC batch reads and writes for bulk product operations (catalog import, stock sync), bypassing
+ * the persistence context. Catalog upserts are {@code INSERT ... ON DUPLICATE KEY UPDATE} keyed by
+ * SKU, so re-running a batch is harmless. With MySQL, {@code rewriteBatchedStatements=true} on the
+ * JDBC URL sends each batch in one round trip.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProductBulkRepository {
+
+    private static final String UPSERT_BY_SKU =
+            "INSERT INTO products (sku, name, description, price, stock, image_url, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), " +
+            "price = VALUES(price), stock = VALUES(stock), image_url = VALUES(image_url), " +
+            "updated_at = VALUES(updated_at)";
+
+    // stock = base + factor * stock: (delta, 1) adds a delta, (absolute, 0) sets a value. The guard
+    // leaves the row untouched (update count 0) when the result would be negative.
+    private static final String ADJUST_STOCK =
+            "UPDATE products SET stock = ? + ? * stock, updated_at = ? WHERE id = ? AND ? + ? * stock >= 0";
+
+    private static final String SELECT_PRODUCTS =
+            "SELECT id, sku, name, description, price, stock, image_url, created_at, updated_at " +
+            "FROM products WHERE id IN (%s)";
+
+    // Rows per JDBC batch and ids per IN list
+    private static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Joins the caller's transaction; updatedAt is set explicitly as no entity callbacks run
+    public void upsertBySku(List<CatalogRow> rows, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPSERT_BY_SKU, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, row.sku());
+            statement.setString(2, row.name());
+            statement.setObject(3, row.description(), Types.VARCHAR);
+            statement.setBigDecimal(4, row.price());
+            statement.setInt(5, row.stock());
+            statement.setObject(6, row.imageUrl(), Types.VARCHAR);
+            statement.setTimestamp(7, timestamp);
+            statement.setTimestamp(8, timestamp);
+        });
+    }
+
+    /**
+     * Applies the adjustments in the given order (callers sort by id so concurrent syncs lock rows in
+     * the same order) and returns one update count per adjustment, 0 for a missing product or an
+     * adjustment that would make stock negative. Joins the caller's transaction.
+     */
+    public int[] adjustStock(List<StockAdjustmentDTO> adjustments, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        int[][] chunks = jdbcTemplate.batchUpdate(ADJUST_STOCK, adjustments, CHUNK_SIZE, (statement, adjustment) -> {
+            boolean absolute = adjustment.getAbsolute() != null;
+            int base = absolute ? adjustment.getAbsolute() : adjustment.getDelta();
+            int factor = absolute ? 0 : 1;
+            statement.setInt(1, base);
+            statement.setInt(2, factor);
+            statement.setTimestamp(3, timestamp);
+            statement.setLong(4, adjustment.getProductId());
+            statement.setInt(5, base);
+            statement.setInt(6, factor);
+        });
+
+        int[] counts = new int[adjustments.size()];
+        int index = 0;
+        for (int[] chunk : chunks) {
+            for (int count : chunk) {
+                counts[index++] = count;
+            }
+        }
+        return counts;
+    }
+
+    // Detached products, read in IN-list chunks without going through the persistence context
+    public List<Product> findAllByIds(List<Long> ids) {
+        List<Product> products = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            String sql = String.format(SELECT_PRODUCTS, String.join(",", Collections.nCopies(chunk.size(), "?")));
+            products.addAll(jdbcTemplate.query(sql, ProductBulkRepository::mapProduct, chunk.toArray()));
+        }
+        return products;
+    }
+
+    private static Product mapProduct(ResultSet rs, int rowNum) throws SQLException {
+        Product product = new Product();
+        product.setId(rs.getLong("id"));
+        product.setSku(rs.getString("sku"));
+        product.setName(rs.getString("name"));
+        product.setDescription(rs.getString("description"));
+        product.setPrice(rs.getBigDecimal("price"));
+        product.setStock(rs.getInt("stock"));
+        product.setImageUrl(rs.getString("image_url"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        product.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        product.setUpdatedAt(updatedAt == null ? null : updatedAt.toLocalDateTime());
+        return product;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.ProductSales;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface ProductSalesRepository extends JpaRepository<ProductSales, Long> {
+
+    List<ProductSales> findAllByOrderByQuantitySoldDesc(Pageable pageable);
+
+    // Native for the same reason as DailySalesRepository.increment (BigDecimal arithmetic in HQL)
+    @Modifying
+    @Query(value = "UPDATE product_sales SET quantity_sold = quantity_sold + :quantity, revenue = revenue + :revenue " +
+            "WHERE product_id = :productId", nativeQuery = true)
+    int increment(@Param("productId") Long productId, @Param("quantity") long quantity,
+                  @Param("revenue") BigDecimal revenue);
+
+    // Plain INSERT (not save/merge): fails with a duplicate key if the row exists, never overwrites it
+    @Modifying
+    @Query(value = "INSERT INTO product_sales (product_id, product_name, quantity_sold, revenue) " +
+            "VALUES (:productId, :productName, 0, 0)", nativeQuery = true)
+    int insertEmpty(@Param("productId") Long productId, @Param("productName") String productName);
+}
@@ -0,0 +1,13 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    List<Promotion> findByActiveTrue();
+}
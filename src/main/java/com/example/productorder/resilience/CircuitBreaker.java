@@ -0,0 +1,128 @@
+package com.example.productorder.resilience;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Count-based circuit breaker. Closed, it records the outcome of the last {@code slidingWindowSize}
+ * calls and opens when the failure rate reaches the threshold. Open, it rejects calls for
+ * {@code openDuration}, then turns half-open and lets {@code halfOpenCalls} probes through: if all
+ * succeed it closes, if any fails it opens again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final ResilienceProperties.Policy policy;
+    private final BiConsumer<State, State> onTransition;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int windowPosition;
+    private int windowCalls;
+    private int windowFailures;
+    private long openUntilNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(ResilienceProperties.Policy policy, BiConsumer<State, State> onTransition) {
+        this.policy = policy;
+        this.onTransition = onTransition;
+        this.window = new boolean[policy.getSlidingWindowSize()];
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (halfOpenPermits > 0) {
+                    halfOpenPermits--;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    // Hands back a permission that was not used (the bulkhead rejected the call)
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(durationNanos > policy.getSlowCallThreshold().toNanos());
+    }
+
+    public void onError() {
+        record(true);
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double getFailureRate() {
+        return windowCalls == 0 ? 0 : (double) windowFailures / windowCalls;
+    }
+
+    private synchronized void record(boolean failed) {
+        switch (state) {
+            case HALF_OPEN -> {
+                if (failed) {
+                    transitionTo(State.OPEN);
+                } else if (++halfOpenSuccesses >= policy.getHalfOpenCalls()) {
+                    transitionTo(State.CLOSED);
+                }
+            }
+            case CLOSED -> {
+                if (windowCalls == window.length) {
+                    if (window[windowPosition]) {
+                        windowFailures--;
+                    }
+                } else {
+                    windowCalls++;
+                }
+                window[windowPosition] = failed;
+                if (failed) {
+                    windowFailures++;
+                }
+                windowPosition = (windowPosition + 1) % window.length;
+
+                if (windowCalls >= policy.getMinimumCalls()
+                        && (double) windowFailures / windowCalls >= policy.getFailureRateThreshold()) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case OPEN -> {
+                // Outcome of a call admitted before the breaker opened
+            }
+        }
+    }
+
+    private void transitionTo(State next) {
+        State previous = state;
+        state = next;
+        switch (next) {
+            case OPEN -> openUntilNanos = System.nanoTime() + policy.getOpenDuration().toNanos();
+            case HALF_OPEN -> {
+                halfOpenPermits = policy.getHalfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowPosition = 0;
+                windowCalls = 0;
+                windowFailures = 0;
+            }
+        }
+        onTransition.accept(previous, next);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.productorder.resilience;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker state of each external dependency. Reports {@code DEGRADED} while any breaker is
+ * not closed: requests are still served (from the database, without cache), so it is not part of
+ * the readiness group.
+ */
+@Component("circuitBreakers")
+@RequiredArgsConstructor
+public class CircuitBreakerHealthIndicator implements HealthIndicator {
+
+    static final Status DEGRADED = new Status("DEGRADED");
+
+    private final DependencyRegistry registry;
+
+    @Override
+    public Health health() {
+        boolean allClosed = true;
+        Map<String, Object> details = new LinkedHashMap<>();
+        for (Dependency dependency : registry.getAll()) {
+            CircuitBreaker.State state = dependency.getState();
+            allClosed &= state == CircuitBreaker.State.CLOSED;
+            details.put(dependency.getName(), Map.of(
+                    "state", state.name(),
+                    "failureRate", dependency.getFailureRate(),
+                    "activeCalls", dependency.getActiveCalls()));
+        }
+        return Health.status(allClosed ? Status.UP : DEGRADED).withDetails(details).build();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.productorder.resilience;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An external system guarded by a circuit breaker and a bulkhead (a bounded number of concurrent
+ * calls), so that a slow or failing dependency costs callers a fast rejection instead of a timeout
+ * and cannot tie up every request thread.
+ */
+@Slf4j
+public class Dependency {
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final int maxConcurrentCalls;
+    private final long maxWaitNanos;
+    private final Predicate<RuntimeException> isFailure;
+    private final Runnable onRejected;
+
+    Dependency(String name, CircuitBreaker circuitBreaker, ResilienceProperties.Policy policy,
+               Predicate<RuntimeException> isFailure, Runnable onRejected) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.maxConcurrentCalls = policy.getMaxConcurrentCalls();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = policy.getMaxWait().toNanos();
+        this.isFailure = isFailure;
+        this.onRejected = onRejected;
+    }
+
+    /**
+     * Runs the call if the breaker and bulkhead allow it, otherwise throws
+     * {@link DependencyUnavailableException}. Exceptions from the call are recorded and rethrown.
+     */
+    public <T> T call(Supplier<T> action) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            onRejected.run();
+            throw new DependencyUnavailableException(name + " circuit breaker is open");
+        }
+        if (!acquireBulkhead()) {
+            circuitBreaker.releasePermission();
+            onRejected.run();
+            throw new DependencyUnavailableException(name + " bulkhead is full");
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            circuitBreaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            if (isFailure.test(e)) {
+                circuitBreaker.onError();
+            } else {
+                circuitBreaker.onSuccess(System.nanoTime() - start);
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Like {@link #call(Supplier)}, but answers with the fallback when the dependency is unavailable
+     * or the call fails.
+     */
+    public <T> T call(Supplier<T> action, Supplier<T> fallback) {
+        try {
+            return call(action);
+        } catch (DependencyUnavailableException e) {
+            log.debug("{}, using fallback", e.getMessage());
+            return fallback.get();
+        } catch (RuntimeException e) {
+            log.warn("{} call failed, using fallback: {}", name, e.getMessage());
+            return fallback.get();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+
+    public double getFailureRate() {
+        return circuitBreaker.getFailureRate();
+    }
+
+    public int getActiveCalls() {
+        return maxConcurrentCalls - bulkhead.availablePermits();
+    }
+
+    private boolean acquireBulkhead() {
+        if (maxWaitNanos <= 0) {
+            return bulkhead.tryAcquire();
+        }
+        try {
+            return bulkhead.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
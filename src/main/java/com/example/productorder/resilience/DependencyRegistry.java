@@ -0,0 +1,94 @@
+package com.example.productorder.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The guarded external dependencies: Elasticsearch, Redis and S3.
+ * <p>
+ * Metrics per dependency: {@code app.resilience.state} (0 closed, 1 half-open, 2 open),
+ * {@code app.resilience.active_calls}, {@code app.resilience.rejected} and
+ * {@code app.resilience.transitions} (tagged with the new state).
+ */
+@Component
+@Slf4j
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class DependencyRegistry {
+
+    public static final String ELASTICSEARCH = "elasticsearch";
+    public static final String REDIS = "redis";
+    public static final String S3 = "s3";
+
+    private final ResilienceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Dependency> dependencies = new LinkedHashMap<>();
+
+    public DependencyRegistry(ResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+
+        register(ELASTICSEARCH, e -> true);
+        register(REDIS, e -> true);
+        // Client errors (missing key, access denied) say nothing about S3's health
+        register(S3, e -> !(e instanceof S3Exception s3 && s3.statusCode() < 500));
+    }
+
+    public Dependency get(String name) {
+        Dependency dependency = dependencies.get(name);
+        if (dependency == null) {
+            throw new IllegalArgumentException("Unknown dependency: " + name);
+        }
+        return dependency;
+    }
+
+    public Collection<Dependency> getAll() {
+        return dependencies.values();
+    }
+
+    private void register(String name, Predicate<RuntimeException> isFailure) {
+        ResilienceProperties.Policy policy = properties.policyFor(name);
+        CircuitBreaker circuitBreaker = new CircuitBreaker(policy, (from, to) -> {
+            if (to == CircuitBreaker.State.OPEN) {
+                log.warn("Circuit breaker for {} opened ({} -> {})", name, from, to);
+            } else {
+                log.info("Circuit breaker for {}: {} -> {}", name, from, to);
+            }
+            Counter.builder("app.resilience.transitions")
+                    .tag("dependency", name)
+                    .tag("state", to.name())
+                    .description("Circuit breaker state changes")
+                    .register(meterRegistry)
+                    .increment();
+        });
+
+        Counter rejected = Counter.builder("app.resilience.rejected")
+                .tag("dependency", name)
+                .description("Calls not made because the breaker was open or the bulkhead full")
+                .register(meterRegistry);
+        Dependency dependency = new Dependency(name, circuitBreaker, policy, isFailure, rejected::increment);
+        dependencies.put(name, dependency);
+
+        Gauge.builder("app.resilience.state", dependency, d -> switch (d.getState()) {
+                    case CLOSED -> 0;
+                    case HALF_OPEN -> 1;
+                    case OPEN -> 2;
+                })
+                .tag("dependency", name)
+                .description("Circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .register(meterRegistry);
+        Gauge.builder("app.resilience.active_calls", dependency, Dependency::getActiveCalls)
+                .tag("dependency", name)
+                .description("Calls in progress inside the bulkhead")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.productorder.resilience;
+
+/**
+ * Thrown without calling the dependency when its circuit breaker is open or its bulkhead is full.
+ */
+public class DependencyUnavailableException extends RuntimeException {
+
+    public DependencyUnavailableException(String message) {
+        super(message);
+    }
+}
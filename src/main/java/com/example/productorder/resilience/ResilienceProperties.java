@@ -0,0 +1,54 @@
+package com.example.productorder.resilience;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Circuit breaker and bulkhead settings per external dependency, bound from
+ * {@code app.resilience.dependencies.<name>.*} (elasticsearch, redis, s3). Dependencies without an
+ * entry use {@link #getDefaults()}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.resilience")
+public class ResilienceProperties {
+
+    private Policy defaults = new Policy();
+
+    private Map<String, Policy> dependencies = new HashMap<>();
+
+    public Policy policyFor(String name) {
+        return dependencies.getOrDefault(name, defaults);
+    }
+
+    @Data
+    public static class Policy {
+
+        /** Number of most recent calls the failure rate is computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls needed in the window before the breaker may open. */
+        private int minimumCalls = 10;
+
+        /** Fraction of failed (or slow) calls in the window that opens the breaker. */
+        private double failureRateThreshold = 0.5;
+
+        /** Calls slower than this count as failures, so a brownout opens the breaker like an outage. */
+        private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+        /** Time the breaker stays open before letting probe calls through. */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /** Probe calls allowed while half-open; all must succeed to close the breaker. */
+        private int halfOpenCalls = 3;
+
+        /** Bulkhead: calls to the dependency in progress at once. */
+        private int maxConcurrentCalls = 20;
+
+        /** Bulkhead: how long a call may wait for a free slot before being rejected. */
+        private Duration maxWait = Duration.ZERO;
+    }
+}
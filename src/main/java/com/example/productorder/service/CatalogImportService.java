@@ -0,0 +1,379 @@
+package com.example.productorder.service;
+
+import com.example.productorder.exception.ResourceNotFoundException;
+import com.example.productorder.importer.CatalogRow;
+import com.example.productorder.importer.CatalogRowReader;
+import com.example.productorder.importer.CsvCatalogRowReader;
+import com.example.productorder.importer.NdjsonCatalogRowReader;
+import com.example.productorder.model.ImportJob;
+import com.example.productorder.model.Product;
+import com.example.productorder.money.Money;
+import com.example.productorder.repository.ImportJobRepository;
+import com.example.productorder.repository.ProductBulkRepository;
+import com.example.productorder.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background catalog import from CSV or NDJSON files.
+ * <p>
+ * The upload is spooled to {@code app.catalog-import.spool-dir} and read back one record at a time.
+ * Valid records are upserted by SKU in JDBC batches of {@code batch-size}; each batch commits in one
+ * transaction together with the job's progress, then evicts the product caches and indexes the
+ * batch in Elasticsearch once. A job interrupted by a shutdown or crash goes back to PENDING and
+ * resumes after its last committed record, on whichever node has its spool file. Invalid records
+ * are counted and skipped, the last error is kept on the job.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final ImportJobRepository jobRepository;
+    private final ProductBulkRepository productBulkRepository;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor workers;
+    private final Counter rowsUpserted;
+    private final Counter rowsRejected;
+    private final Timer batchTimer;
+
+    @Value("${app.catalog-import.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.catalog-import.spool-dir:${java.io.tmpdir}/catalog-import}")
+    private String spoolDir;
+
+    @Value("${app.catalog-import.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${app.catalog-import.stale-after:5m}")
+    private Duration staleAfter;
+
+    public CatalogImportService(ImportJobRepository jobRepository,
+                                ProductBulkRepository productBulkRepository,
+                                ProductRepository productRepository,
+                                ProductService productService,
+                                TransactionTemplate transactionTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.catalog-import.workers:1}") int workerCount) {
+        this.jobRepository = jobRepository;
+        this.productBulkRepository = productBulkRepository;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "catalog-import-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.rowsUpserted = Counter.builder("app.catalog_import.rows")
+                .tag("result", "upserted")
+                .description("Catalog import records written")
+                .register(meterRegistry);
+        this.rowsRejected = Counter.builder("app.catalog_import.rows")
+                .tag("result", "rejected")
+                .description("Catalog import records skipped as invalid")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("app.catalog_import.batch")
+                .description("Duration of one catalog import batch, from upsert to indexing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Spools the input to disk and queues a job for it. Returns as soon as the file is stored;
+     * progress is read with {@link #getJob(Long)}.
+     */
+    public ImportJob submit(ImportJob.Format format, InputStream input) throws IOException {
+        Path dir = Paths.get(spoolDir);
+        Files.createDirectories(dir);
+        Path file = Files.createTempFile(dir, "import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = jobRepository.save(ImportJob.of(format, file.toAbsolutePath().toString()));
+        log.info("Catalog import job {} queued ({}, {} bytes)", job.getId(), format, Files.size(file));
+        dispatch();
+        return job;
+    }
+
+    public ImportJob getJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Import job not found with id: " + id));
+    }
+
+    /**
+     * Puts a FAILED job back in the queue; it continues after its last committed record.
+     */
+    public ImportJob retry(Long id) {
+        ImportJob job = getJob(id);
+        if (jobRepository.retry(id, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Only FAILED import jobs can be retried, job " + id
+                    + " is " + job.getStatus());
+        }
+        dispatch();
+        return getJob(id);
+    }
+
+    // Starts pending jobs whose spool file is on this node, up to the number of idle workers
+    @Scheduled(fixedDelayString = "${app.catalog-import.poll-interval-ms:10000}")
+    public synchronized void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = jobRepository.requeueStale(now.minus(staleAfter), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} catalog import jobs without progress for more than {}", requeued, staleAfter);
+        }
+
+        for (ImportJob job : jobRepository.findByStatusOrderByIdAsc(ImportJob.Status.PENDING)) {
+            if (workers.getActiveCount() + workers.getQueue().size() >= workers.getMaximumPoolSize()) {
+                return;
+            }
+            if (!Files.exists(Paths.get(job.getFilePath())) || jobRepository.claim(job.getId(), now) == 0) {
+                continue;
+            }
+            try {
+                workers.execute(new JobTask(job.getId()));
+            } catch (RejectedExecutionException e) {
+                jobRepository.release(job.getId(), LocalDateTime.now());
+                return;
+            }
+        }
+    }
+
+    void run(Long jobId) {
+        ImportJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+
+        Path file = Paths.get(job.getFilePath());
+        long position = 0;
+        try (CatalogRowReader reader = open(job.getFormat(), file)) {
+            // Skip records committed by an earlier run
+            while (position < job.getRowsProcessed()) {
+                try {
+                    if (reader.next() == null) {
+                        break;
+                    }
+                } catch (IllegalArgumentException ignored) {
+                    // counted as rejected by the earlier run
+                }
+                position++;
+            }
+            if (position > 0) {
+                log.info("Catalog import job {} resuming after record {}", jobId, position);
+            }
+
+            boolean more = true;
+            while (more) {
+                if (Thread.interrupted()) {
+                    stopped(jobId, position);
+                    return;
+                }
+
+                List<CatalogRow> batch = new ArrayList<>(batchSize);
+                int rejected = 0;
+                String error = null;
+                while (batch.size() < batchSize) {
+                    CatalogRow row = null;
+                    String invalid;
+                    try {
+                        row = reader.next();
+                        if (row == null) {
+                            more = false;
+                            break;
+                        }
+                        invalid = validate(row);
+                    } catch (IllegalArgumentException e) {
+                        invalid = e.getMessage();
+                    }
+                    position++;
+
+                    if (invalid != null) {
+                        rejected++;
+                        error = "Record " + position + ": " + invalid;
+                        log.debug("Catalog import job {}: {}", jobId, error);
+                    } else {
+                        batch.add(row);
+                    }
+                }
+                if (!batch.isEmpty() || rejected > 0) {
+                    writeBatch(jobId, batch, position, rejected, error);
+                }
+            }
+        } catch (Exception e) {
+            // A shutdown can also surface as an I/O error from the interrupted file channel
+            if (Thread.interrupted()) {
+                stopped(jobId, position);
+                return;
+            }
+            log.error("Catalog import job {} failed at record {}", jobId, position, e);
+            jobRepository.finish(jobId, ImportJob.Status.FAILED, truncate(String.valueOf(e.getMessage())),
+                    LocalDateTime.now());
+            return;
+        }
+
+        jobRepository.finish(jobId, ImportJob.Status.COMPLETED, null, LocalDateTime.now());
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete spool file {} of import job {}", file, jobId, e);
+        }
+        ImportJob finished = getJob(jobId);
+        log.info("Catalog import job {} completed: {} records, {} upserted, {} rejected", jobId,
+                finished.getRowsProcessed(), finished.getRowsUpserted(), finished.getRowsRejected());
+    }
+
+    private void stopped(Long jobId, long position) {
+        jobRepository.release(jobId, LocalDateTime.now());
+        log.info("Catalog import job {} stopped at record {}, will resume", jobId, position);
+    }
+
+    // Upserts and progress commit together, so a resumed job never skips an unwritten record
+    private void writeBatch(Long jobId, List<CatalogRow> batch, long position, int rejected, String error) {
+        long start = System.nanoTime();
+        List<Product> products = transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            if (!batch.isEmpty()) {
+                productBulkRepository.upsertBySku(batch, now);
+            }
+            jobRepository.recordProgress(jobId, position, batch.size(), rejected,
+                    error == null ? null : truncate(error), now);
+            if (batch.isEmpty()) {
+                return List.<Product>of();
+            }
+
+            List<Product> written = productRepository.findBySkuIn(batch.stream().map(CatalogRow::sku).toList());
+            List<Long> ids = written.stream().map(Product::getId).toList();
+            productService.evictProductCaches(ids);
+            productService.publishChange(ids);
+            return written;
+        });
+
+        productService.indexProductsInElasticsearch(products);
+        rowsUpserted.increment(batch.size());
+        rowsRejected.increment(rejected);
+        batchTimer.record(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private CatalogRowReader open(ImportJob.Format format, Path file) throws IOException {
+        BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            return switch (format) {
+                case CSV -> new CsvCatalogRowReader(in);
+                case NDJSON -> new NdjsonCatalogRowReader(in, objectMapper);
+            };
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    // Same limits as the products table and ProductDTO
+    private static String validate(CatalogRow row) {
+        if (row.sku() == null || row.sku().isBlank()) {
+            return "SKU is required";
+        }
+        if (row.sku().length() > 64) {
+            return "SKU must be at most 64 characters";
+        }
+        if (row.name() == null || row.name().isBlank()) {
+            return "Product name is required";
+        }
+        if (row.name().length() > 255) {
+            return "Product name must be at most 255 characters";
+        }
+        if (row.description() != null && row.description().length() > 1000) {
+            return "Description must be at most 1000 characters";
+        }
+        if (row.price() == null || row.price().compareTo(BigDecimal.ZERO) <= 0) {
+            return "Price must be greater than 0";
+        }
+        if (row.price().stripTrailingZeros().scale() > Money.SCALE) {
+            return "Price must have at most " + Money.SCALE + " decimal places";
+        }
+        if (row.stock() == null || row.stock() < 0) {
+            return "Stock cannot be negative";
+        }
+        if (row.imageUrl() != null && row.imageUrl().length() > 500) {
+            return "Image URL must be at most 500 characters";
+        }
+        return null;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Queued jobs go back to PENDING here; running ones see the interrupt between batches
+        for (Runnable pending : workers.shutdownNow()) {
+            if (pending instanceof JobTask task) {
+                jobRepository.release(task.jobId, LocalDateTime.now());
+            }
+        }
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private final class JobTask implements Runnable {
+        private final Long jobId;
+
+        private JobTask(Long jobId) {
+            this.jobId = jobId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                CatalogImportService.this.run(jobId);
+            } catch (RuntimeException e) {
+                log.error("Catalog import job {} aborted", jobId, e);
+            }
+        }
+    }
+}
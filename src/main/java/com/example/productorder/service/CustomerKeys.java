@@ -0,0 +1,40 @@
+package com.example.productorder.service;
+
+import java.util.Locale;
+
+/**
+ * Normalized customer identifiers stored next to the raw contact fields of an order, so
+ * history lookups are exact matches on an indexed column rather than free-text scans.
+ * Must stay in sync with the backfill expressions in {@code V3__customer_lookup_columns.sql}.
+ */
+public final class CustomerKeys {
+
+    private CustomerKeys() {
+    }
+
+    public static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.length() == 0 ? null : digits.toString();
+    }
+
+    public static String cacheKey(String email, String phone) {
+        String normalizedEmail = normalizeEmail(email);
+        return normalizedEmail != null ? "email:" + normalizedEmail : "phone:" + normalizePhone(phone);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.productorder.service;
+
+import com.example.productorder.model.Product;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Strong entity tags derived from {@code updatedAt}. The same tag is computed from a cheap version
+ * query (to answer {@code If-None-Match} before loading anything) and from a loaded body (for the
+ * full response), so both must stay in sync.
+ */
+public final class ETags {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ETags() {
+    }
+
+    public static String product(Long id, LocalDateTime updatedAt) {
+        return "p" + id + "-" + micros(updatedAt);
+    }
+
+    public static String product(Product product) {
+        return product(product.getId(), product.getUpdatedAt());
+    }
+
+    public static String order(Long id, LocalDateTime updatedAt) {
+        return "o" + id + "-" + micros(updatedAt);
+    }
+
+    // Any insert, update or delete changes either the count or the newest updatedAt
+    public static String catalog(long count, LocalDateTime lastUpdated) {
+        return "c" + count + "-" + micros(lastUpdated);
+    }
+
+    public static String catalog(List<Product> products) {
+        LocalDateTime lastUpdated = null;
+        for (Product product : products) {
+            LocalDateTime updatedAt = product.getUpdatedAt();
+            if (updatedAt != null && (lastUpdated == null || updatedAt.isAfter(lastUpdated))) {
+                lastUpdated = updatedAt;
+            }
+        }
+        return catalog(products.size(), lastUpdated);
+    }
+
+    // DATETIME(6) rounds to the nearest microsecond on write, so an in-memory timestamp (nanosecond
+    // precision, e.g. a freshly saved or cached entity) is rounded the same way. Rounding an already
+    // stored value is a no-op, so tags from the database and from entities agree.
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return 0;
+        }
+        long nanos = ChronoUnit.NANOS.between(EPOCH, time);
+        return Math.floorDiv(nanos + 500, 1000);
+    }
+}
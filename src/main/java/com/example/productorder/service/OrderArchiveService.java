@@ -0,0 +1,125 @@
+package com.example.productorder.service;
+
+import com.example.productorder.model.ArchivedOrder;
+import com.example.productorder.model.Order;
+import com.example.productorder.repository.ArchivedOrderRepository;
+import com.example.productorder.repository.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves finished (delivered or cancelled) orders older than {@code app.archive.min-age} from
+ * {@code orders}/{@code order_items} into {@code orders_archive}/{@code order_items_archive}.
+ * <p>
+ * Orders are moved in batches, each in its own short transaction, with a pause between batches
+ * so the job never holds long locks or saturates the database while serving traffic.
+ */
+@Service
+@Slf4j
+public class OrderArchiveService {
+
+    private static final Set<Order.OrderStatus> ARCHIVABLE_STATUSES =
+            EnumSet.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.archive.min-age:180d}")
+    private Duration minAge;
+
+    @Value("${app.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.archive.throttle:200ms}")
+    private Duration throttle;
+
+    @Value("${app.archive.max-batches-per-run:1000}")
+    private int maxBatchesPerRun;
+
+    public OrderArchiveService(OrderRepository orderRepository,
+                               ArchivedOrderRepository archivedOrderRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOldOrders();
+        }
+    }
+
+    /**
+     * Runs one archival pass and returns the number of orders archived. Concurrent calls on the
+     * same node are ignored.
+     */
+    public int archiveOldOrders() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Order archival already running, skipping");
+            return 0;
+        }
+
+        int archived = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+            log.info("Archiving {} orders last updated before {}", ARCHIVABLE_STATUSES, cutoff);
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Long> ids = orderRepository.findIdsForArchive(ARCHIVABLE_STATUSES, cutoff,
+                        PageRequest.of(0, batchSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+
+                Integer moved = transactionTemplate.execute(status -> archiveBatch(ids));
+                archived += moved != null ? moved : 0;
+
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(throttle.toMillis());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Order archival interrupted after {} orders", archived);
+        } finally {
+            running.set(false);
+        }
+
+        log.info("Order archival completed: {} orders archived", archived);
+        return archived;
+    }
+
+    private int archiveBatch(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ArchivedOrder> archivedOrders = orderRepository.findAllById(ids).stream()
+                .map(order -> ArchivedOrder.fromOrder(order, now))
+                .toList();
+        archivedOrderRepository.saveAll(archivedOrders);
+        archivedOrderRepository.flush();
+
+        orderRepository.deleteItemsByOrderIds(ids);
+        orderRepository.deleteByIds(ids);
+        log.debug("Archived batch of {} orders", archivedOrders.size());
+        return archivedOrders.size();
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.productorder.service;
+
+import com.example.productorder.model.Order;
+import com.example.productorder.model.OrderEvent;
+import com.example.productorder.repository.OrderEventRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous order processing driven by the durable {@code order_events} queue.
+ * <p>
+ * A poller claims due events and hands them to a fixed worker pool with a bounded queue. It only
+ * claims as many events as the queue has room for, so under load the backlog stays in the table
+ * (and survives restarts) instead of piling up in memory. For {@code ORDER_CREATED} the workers
+ * confirm the order, start fulfillment and send the notification: PENDING → CONFIRMED → PROCESSING.
+ * Failed events are retried with exponential backoff and marked FAILED after {@code max-attempts}.
+ */
+@Service
+@Slf4j
+public class OrderPipelineService {
+
+    private final OrderEventRepository eventRepository;
+    private final OrderService orderService;
+    private final ThreadPoolExecutor workers;
+
+    @Value("${app.order-pipeline.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.order-pipeline.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.order-pipeline.retry-backoff:5s}")
+    private Duration retryBackoff;
+
+    @Value("${app.order-pipeline.stale-after:5m}")
+    private Duration staleAfter;
+
+    @Value("${app.order-pipeline.retention:7d}")
+    private Duration retention;
+
+    public OrderPipelineService(OrderEventRepository eventRepository,
+                                OrderService orderService,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.order-pipeline.workers:4}") int workerCount,
+                                @Value("${app.order-pipeline.queue-capacity:200}") int queueCapacity) {
+        this.eventRepository = eventRepository;
+        this.orderService = orderService;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-pipeline-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("app.order_pipeline.queued", workers, executor -> executor.getQueue().size())
+                .description("Claimed order events waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("app.order_pipeline.backlog", eventRepository,
+                        repository -> repository.countByStatus(OrderEvent.Status.PENDING))
+                .description("Order events waiting in the queue table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-pipeline.poll-interval-ms:500}")
+    public void dispatch() {
+        if (!enabled) {
+            return;
+        }
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> eventIds = eventRepository.findDispatchableIds(now, PageRequest.of(0, capacity));
+        for (Long eventId : eventIds) {
+            if (eventRepository.claim(eventId, now) == 0) {
+                continue;
+            }
+            try {
+                workers.execute(new EventTask(eventId));
+            } catch (RejectedExecutionException e) {
+                eventRepository.release(eventId, LocalDateTime.now());
+                break;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-pipeline.maintenance-interval-ms:60000}")
+    public void maintenance() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int requeued = eventRepository.requeueStale(now.minus(staleAfter), now);
+        if (requeued > 0) {
+            log.warn("Requeued {} order events left in progress for more than {}", requeued, staleAfter);
+        }
+        eventRepository.deleteDoneBefore(now.minus(retention));
+    }
+
+    void process(Long eventId) {
+        OrderEvent event = eventRepository.findById(eventId).orElse(null);
+        if (event == null) {
+            return;
+        }
+
+        try {
+            switch (event.getEventType()) {
+                case ORDER_CREATED -> handleOrderCreated(event.getOrderId());
+            }
+            event.setStatus(OrderEvent.Status.DONE);
+            event.setLastError(null);
+        } catch (Exception e) {
+            int attempts = event.getAttempts() + 1;
+            event.setAttempts(attempts);
+            String error = String.valueOf(e.getMessage());
+            event.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (attempts >= maxAttempts) {
+                event.setStatus(OrderEvent.Status.FAILED);
+                log.error("Order event {} for order {} failed after {} attempts",
+                        event.getId(), event.getOrderId(), attempts, e);
+            } else {
+                Duration delay = retryBackoff.multipliedBy(1L << (attempts - 1));
+                event.setStatus(OrderEvent.Status.PENDING);
+                event.setAvailableAt(LocalDateTime.now().plus(delay));
+                log.warn("Order event {} for order {} failed (attempt {}), retrying in {}",
+                        event.getId(), event.getOrderId(), attempts, delay, e);
+            }
+        }
+        eventRepository.save(event);
+    }
+
+    // Each step only acts when the order is in the status it expects, so a retried event resumes
+    // where it failed and an order cancelled in the meantime is left alone
+    private void handleOrderCreated(Long orderId) {
+        if (orderService.advanceStatus(orderId, Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED)) {
+            log.info("Order {} confirmed", orderId);
+        }
+        if (orderService.advanceStatus(orderId, Order.OrderStatus.CONFIRMED, Order.OrderStatus.PROCESSING)) {
+            log.info("Order {} sent to fulfillment", orderId);
+            notifyCustomer(orderId);
+        }
+    }
+
+    // No notification channel exists yet; this is the hook for email/SMS delivery
+    private void notifyCustomer(Long orderId) {
+        log.info("Order {} notification queued for customer", orderId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Hand events that never reached a worker back to the queue table for the next start
+        for (Runnable pending : workers.shutdownNow()) {
+            if (pending instanceof EventTask task) {
+                eventRepository.release(task.eventId, LocalDateTime.now());
+            }
+        }
+    }
+
+    private final class EventTask implements Runnable {
+        private final Long eventId;
+
+        private EventTask(Long eventId) {
+            this.eventId = eventId;
+        }
+
+        @Override
+        public void run() {
+            process(eventId);
+        }
+    }
+}
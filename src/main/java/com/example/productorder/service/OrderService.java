@@ -1,95 +1,213 @@
 package com.example.productorder.service;
 
+import com.example.productorder.dto.CustomerOrderHistoryDTO;
 import com.example.productorder.dto.OrderRequestDTO;
 import com.example.productorder.dto.OrderResponseDTO;
-import com.example.productorder.exception.InsufficientStockException;
 import com.example.productorder.exception.ResourceNotFoundException;
+import com.example.productorder.model.ArchivedOrder;
 import com.example.productorder.model.Order;
+import com.example.productorder.model.OrderEvent;
 import com.example.productorder.model.OrderItem;
 import com.example.productorder.model.Product;
+import com.example.productorder.money.Money;
+import com.example.productorder.promotion.BasketDiscounts;
+import com.example.productorder.promotion.BasketLine;
+import com.example.productorder.promotion.PromotionEngine;
+import com.example.productorder.repository.ArchivedOrderRepository;
+import com.example.productorder.repository.OrderEventRepository;
 import com.example.productorder.repository.OrderRepository;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
+    private static final DateTimeFormatter ORDER_NUMBER_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    public static final String CUSTOMER_ORDERS_CACHE = "customerOrders";
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 20;
+    public static final int MAX_HISTORY_PAGE_SIZE = 100;
+
     private final OrderRepository orderRepository;
     private final ProductService productService;
+    private final SalesReportService salesReportService;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ObjectProvider<CacheManager> cacheManagerProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderEventRepository orderEventRepository;
+    private final PromotionEngine promotionEngine;
+
+    // Store currency of catalog prices and order amounts (ISO 4217)
+    @Value("${app.money.currency:USD}")
+    private String currency;
+
+    @PostConstruct
+    void validateCurrency() {
+        Money.currency(currency);
+    }
 
-    public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
+    /**
+     * One page of orders (optionally of one status) with ids after {@code afterId}, in id order.
+     * List endpoints stream these pages instead of loading every order at once.
+     */
+    @Transactional(readOnly = true)
+    public List<OrderResponseDTO> getOrdersPage(Order.OrderStatus status, long afterId, int size) {
+        PageRequest page = PageRequest.of(0, size);
+        List<Order> orders = status == null
+                ? orderRepository.findByIdGreaterThanOrderByIdAsc(afterId, page)
+                : orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(status, afterId, page);
+        return orders.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    // Orders moved out by the archival job are still served, from the archive tables
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return orderRepository.findById(id)
+                .map(this::convertToDTO)
+                .or(() -> archivedOrderRepository.findById(id).map(this::convertToDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
-        return convertToDTO(order);
     }
 
+    // Entity tag of the current row (live or archived), without loading the order or its items
+    @Transactional(readOnly = true)
+    public String getOrderETag(Long id) {
+        return orderRepository.findUpdatedAtById(id)
+                .or(() -> archivedOrderRepository.findUpdatedAtById(id))
+                .map(updatedAt -> ETags.order(id, updatedAt))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
     public OrderResponseDTO getOrderByOrderNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        return orderRepository.findByOrderNumber(orderNumber)
+                .map(this::convertToDTO)
+                .or(() -> archivedOrderRepository.findByOrderNumber(orderNumber).map(this::convertToDTO))
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with number: " + orderNumber));
-        return convertToDTO(order);
     }
 
-    public List<OrderResponseDTO> getOrdersByStatus(Order.OrderStatus status) {
-        return orderRepository.findByStatus(status).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    /**
+     * Newest-first order history for one customer, matched on the normalized email or phone.
+     * Keyset paginated on id ({@code before} is the previous page's {@code nextCursor}), merging
+     * live and archived orders. Only the default-sized first page is cached.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = CUSTOMER_ORDERS_CACHE,
+            key = "T(com.example.productorder.service.CustomerKeys).cacheKey(#email, #phone)",
+            condition = "#before == null && #size == T(com.example.productorder.service.OrderService).DEFAULT_HISTORY_PAGE_SIZE")
+    public CustomerOrderHistoryDTO getCustomerOrderHistory(String email, String phone, Long before, int size) {
+        String normalizedEmail = CustomerKeys.normalizeEmail(email);
+        String normalizedPhone = normalizedEmail == null ? CustomerKeys.normalizePhone(phone) : null;
+        if (normalizedEmail == null && normalizedPhone == null) {
+            throw new IllegalArgumentException("Either email or phone is required");
+        }
+        int pageSize = Math.min(Math.max(size, 1), MAX_HISTORY_PAGE_SIZE);
+        long cursor = before != null ? before : Long.MAX_VALUE;
+        // One extra row from each table tells us whether another page exists
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+
+        List<Order> live = normalizedEmail != null
+                ? orderRepository.findByCustomerEmailNormalizedAndIdLessThanOrderByIdDesc(normalizedEmail, cursor, limit)
+                : orderRepository.findByCustomerPhoneNormalizedAndIdLessThanOrderByIdDesc(normalizedPhone, cursor, limit);
+        List<ArchivedOrder> archived = normalizedEmail != null
+                ? archivedOrderRepository.findByCustomerEmailNormalizedAndIdLessThanOrderByIdDesc(normalizedEmail, cursor, limit)
+                : archivedOrderRepository.findByCustomerPhoneNormalizedAndIdLessThanOrderByIdDesc(normalizedPhone, cursor, limit);
+
+        // Both lists are sorted by id descending, so a single merge pass keeps the page ordered
+        List<OrderResponseDTO> page = new ArrayList<>(pageSize);
+        int i = 0;
+        int j = 0;
+        while (page.size() < pageSize && (i < live.size() || j < archived.size())) {
+            boolean takeLive = j >= archived.size()
+                    || (i < live.size() && live.get(i).getId() > archived.get(j).getId());
+            page.add(takeLive ? convertToDTO(live.get(i++)) : convertToDTO(archived.get(j++)));
+        }
+        boolean hasMore = i < live.size() || j < archived.size();
+        Long nextCursor = hasMore ? page.get(page.size() - 1).getId() : null;
+        return new CustomerOrderHistoryDTO(page, nextCursor);
     }
 
-    @Transactional
+    // Only stock reservation and the inserts run in the transaction; building the order number
+    // and mapping the response happen without holding a connection. Confirmation and fulfillment
+    // run later in OrderPipelineService, driven by the OrderCreated event queued here. Totals are
+    // computed in long minor units; only the catalog price is converted from its decimal.
+    // Promotions are priced in-process against the current PromotionEngine snapshot.
     public OrderResponseDTO createOrder(OrderRequestDTO requestDTO) {
-        // Create order
         Order order = new Order();
         order.setOrderNumber(generateOrderNumber());
         order.setCustomerName(requestDTO.getCustomerName());
         order.setCustomerEmail(requestDTO.getCustomerEmail());
         order.setCustomerPhone(requestDTO.getCustomerPhone());
+        order.setCustomerEmailNormalized(CustomerKeys.normalizeEmail(requestDTO.getCustomerEmail()));
+        order.setCustomerPhoneNormalized(CustomerKeys.normalizePhone(requestDTO.getCustomerPhone()));
         order.setStatus(Order.OrderStatus.PENDING);
+        order.setCurrency(currency);
 
-        // Process order items
-        BigDecimal totalAmount = BigDecimal.ZERO;
-
+        // The same product may appear on several lines; it becomes one item, so quantity-based
+        // promotions see the whole quantity
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
         for (OrderRequestDTO.OrderItemDTO itemDTO : requestDTO.getItems()) {
-            Product product = productService.getProductById(itemDTO.getProductId());
-
-            // Check stock
-            if (product.getStock() < itemDTO.getQuantity()) {
-                throw new InsufficientStockException(
-                    "Insufficient stock for product: " + product.getName() +
-                    ". Available: " + product.getStock() + ", Requested: " + itemDTO.getQuantity()
-                );
+            quantities.merge(itemDTO.getProductId(), itemDTO.getQuantity(), Integer::sum);
+        }
+
+        Order savedOrder = transactionTemplate.execute(status -> {
+            Map<Long, Product> products = productService.reserveStock(quantities);
+
+            List<BasketLine> lines = new ArrayList<>(quantities.size());
+            for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+                Product product = products.get(entry.getKey());
+                lines.add(new BasketLine(product.getId(), Money.toMinor(product.getPrice()), entry.getValue()));
             }
+            BasketDiscounts discounts = promotionEngine.evaluate(lines);
 
-            // Create order item
-            OrderItem orderItem = new OrderItem();
-            orderItem.setOrder(order);
-            orderItem.setProduct(product);
-            orderItem.setQuantity(itemDTO.getQuantity());
-            orderItem.setPrice(product.getPrice());
-            orderItem.setSubtotal(product.getPrice().multiply(BigDecimal.valueOf(itemDTO.getQuantity())));
+            long totalMinor = 0;
+            for (int i = 0; i < lines.size(); i++) {
+                BasketLine line = lines.get(i);
+                long discountMinor = discounts.lineDiscounts()[i];
+                long subtotalMinor = Money.times(line.unitPriceMinor(), line.quantity()) - discountMinor;
 
-            order.getItems().add(orderItem);
-            totalAmount = totalAmount.add(orderItem.getSubtotal());
+                OrderItem orderItem = new OrderItem();
+                orderItem.setOrder(order);
+                orderItem.setProduct(products.get(line.productId()));
+                orderItem.setQuantity(line.quantity());
+                orderItem.setPriceMinor(line.unitPriceMinor());
+                orderItem.setDiscountMinor(discountMinor);
+                orderItem.setSubtotalMinor(subtotalMinor);
 
-            // Update product stock
-            product.setStock(product.getStock() - itemDTO.getQuantity());
-        }
+                order.getItems().add(orderItem);
+                totalMinor = Money.plus(totalMinor, subtotalMinor);
+            }
 
-        order.setTotalAmount(totalAmount);
-        Order savedOrder = orderRepository.save(order);
+            order.setTotalAmountMinor(totalMinor);
+            Order saved = orderRepository.save(order);
+            salesReportService.recordOrderCreated(saved);
+            orderEventRepository.save(OrderEvent.of(saved.getId(), OrderEvent.EventType.ORDER_CREATED));
+            evictCustomerHistory(saved);
+            return saved;
+        });
 
         return convertToDTO(savedOrder);
     }
@@ -98,14 +216,33 @@ public class OrderService {
     public OrderResponseDTO updateOrderStatus(Long id, Order.OrderStatus status) {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(status);
         Order updatedOrder = orderRepository.save(order);
+        salesReportService.recordStatusChange(updatedOrder, previousStatus, status);
+        evictCustomerHistory(updatedOrder);
         return convertToDTO(updatedOrder);
     }
 
+    /**
+     * Moves an order from {@code from} to {@code to}. Returns false without changing anything when
+     * the order is gone or no longer in {@code from}, e.g. it was cancelled in the meantime.
+     */
+    @Transactional
+    public boolean advanceStatus(Long id, Order.OrderStatus from, Order.OrderStatus to) {
+        Order order = orderRepository.findByIdForUpdate(id).orElse(null);
+        if (order == null || order.getStatus() != from) {
+            return false;
+        }
+        order.setStatus(to);
+        salesReportService.recordStatusChange(order, from, to);
+        evictCustomerHistory(order);
+        return true;
+    }
+
     @Transactional
     public void cancelOrder(Long id) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
 
         if (order.getStatus() == Order.OrderStatus.DELIVERED ||
@@ -114,28 +251,96 @@ public class OrderService {
         }
 
         // Restore product stock
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-        }
+        productService.releaseStock(quantitiesByProduct(List.of(order)));
 
+        Order.OrderStatus previousStatus = order.getStatus();
         order.setStatus(Order.OrderStatus.CANCELLED);
         orderRepository.save(order);
+        salesReportService.recordStatusChange(order, previousStatus, Order.OrderStatus.CANCELLED);
+        evictCustomerHistory(order);
+    }
+
+    /**
+     * Cancels one page of PENDING orders created before {@code before} and returns their stock
+     * with a single grouped update per product. Rows are locked, so a concurrent cancellation or
+     * pipeline step waits rather than double-releasing stock.
+     */
+    @Transactional
+    public StaleOrderRelease cancelStalePendingOrders(LocalDateTime before, int limit) {
+        List<Order> orders = orderRepository.findByStatusCreatedBeforeForUpdate(
+                Order.OrderStatus.PENDING, before, PageRequest.of(0, limit));
+        if (orders.isEmpty()) {
+            return new StaleOrderRelease(0, 0);
+        }
+
+        Map<Long, Integer> quantities = quantitiesByProduct(orders);
+        productService.releaseStock(quantities);
+
+        for (Order order : orders) {
+            order.setStatus(Order.OrderStatus.CANCELLED);
+            salesReportService.recordStatusChange(order, Order.OrderStatus.PENDING, Order.OrderStatus.CANCELLED);
+            evictCustomerHistory(order);
+        }
+
+        long units = quantities.values().stream().mapToLong(Integer::longValue).sum();
+        return new StaleOrderRelease(orders.size(), units);
     }
 
-    private String generateOrderNumber() {
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        return "ORD-" + timestamp;
+    public record StaleOrderRelease(int orders, long units) {}
+
+    private Map<Long, Integer> quantitiesByProduct(List<Order> orders) {
+        Map<Long, Integer> quantities = new HashMap<>();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            }
+        }
+        return quantities;
     }
 
-    private OrderResponseDTO convertToDTO(Order order) {
+    // Evicted after commit so a concurrent history read cannot re-cache the pre-commit page
+    private void evictCustomerHistory(Order order) {
+        CacheManager cacheManager = cacheManagerProvider.getIfAvailable();
+        Cache cache = cacheManager != null ? cacheManager.getCache(CUSTOMER_ORDERS_CACHE) : null;
+        if (cache == null) {
+            return;
+        }
+        Runnable evict = () -> {
+            if (order.getCustomerEmailNormalized() != null) {
+                cache.evict("email:" + order.getCustomerEmailNormalized());
+            }
+            if (order.getCustomerPhoneNormalized() != null) {
+                cache.evict("phone:" + order.getCustomerPhoneNormalized());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    // Timestamp alone collides for orders placed within the same second, so append a random suffix
+    String generateOrderNumber() {
+        String timestamp = LocalDateTime.now().format(ORDER_NUMBER_FORMAT);
+        String suffix = Integer.toHexString(ThreadLocalRandom.current().nextInt(0x100000, 0x1000000)).toUpperCase();
+        return "ORD-" + timestamp + "-" + suffix;
+    }
+
+    OrderResponseDTO convertToDTO(Order order) {
         OrderResponseDTO dto = new OrderResponseDTO();
         dto.setId(order.getId());
         dto.setOrderNumber(order.getOrderNumber());
         dto.setCustomerName(order.getCustomerName());
         dto.setCustomerEmail(order.getCustomerEmail());
         dto.setCustomerPhone(order.getCustomerPhone());
-        dto.setTotalAmount(order.getTotalAmount());
+        dto.setTotalAmount(Money.toDecimal(order.getTotalAmountMinor()));
+        dto.setCurrency(order.getCurrency());
         dto.setStatus(order.getStatus());
         dto.setCreatedAt(order.getCreatedAt());
         dto.setUpdatedAt(order.getUpdatedAt());
@@ -147,8 +352,9 @@ public class OrderService {
                     itemDTO.setProductId(item.getProduct().getId());
                     itemDTO.setProductName(item.getProduct().getName());
                     itemDTO.setQuantity(item.getQuantity());
-                    itemDTO.setPrice(item.getPrice());
-                    itemDTO.setSubtotal(item.getSubtotal());
+                    itemDTO.setPrice(Money.toDecimal(item.getPriceMinor()));
+                    itemDTO.setDiscount(Money.toDecimal(item.getDiscountMinor()));
+                    itemDTO.setSubtotal(Money.toDecimal(item.getSubtotalMinor()));
                     return itemDTO;
                 })
                 .collect(Collectors.toList());
@@ -156,5 +362,33 @@ public class OrderService {
         dto.setItems(itemDTOs);
         return dto;
     }
+
+    OrderResponseDTO convertToDTO(ArchivedOrder order) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(order.getId());
+        dto.setOrderNumber(order.getOrderNumber());
+        dto.setCustomerName(order.getCustomerName());
+        dto.setCustomerEmail(order.getCustomerEmail());
+        dto.setCustomerPhone(order.getCustomerPhone());
+        dto.setTotalAmount(order.getTotalAmount());
+        dto.setCurrency(order.getCurrency());
+        dto.setStatus(order.getStatus());
+        dto.setCreatedAt(order.getCreatedAt());
+        dto.setUpdatedAt(order.getUpdatedAt());
+
+        List<OrderResponseDTO.OrderItemResponseDTO> itemDTOs = order.getItems().stream()
+                .map(item -> new OrderResponseDTO.OrderItemResponseDTO(
+                        item.getId(),
+                        item.getProductId(),
+                        item.getProductName(),
+                        item.getQuantity(),
+                        item.getPrice(),
+                        item.getDiscount(),
+                        item.getSubtotal()))
+                .collect(Collectors.toList());
+
+        dto.setItems(itemDTOs);
+        return dto;
+    }
 }
 
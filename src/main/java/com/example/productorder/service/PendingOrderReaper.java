@@ -0,0 +1,106 @@
+package com.example.productorder.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Cancels orders that have been PENDING for longer than {@code app.order-reaper.ttl} and puts
+ * their items back into stock, so abandoned checkouts stop holding inventory. Works in pages of
+ * {@code batch-size} orders, each page in its own transaction, and only on the node holding the
+ * {@code pending-order-reaper} scheduler lock.
+ */
+@Service
+@Slf4j
+public class PendingOrderReaper {
+
+    static final String LOCK_NAME = "pending-order-reaper";
+
+    private final OrderService orderService;
+    private final SchedulerLockService lockService;
+    private final Counter ordersCancelled;
+    private final Counter unitsReleased;
+    private final Timer runTimer;
+
+    @Value("${app.order-reaper.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.order-reaper.ttl:30m}")
+    private Duration ttl;
+
+    @Value("${app.order-reaper.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.order-reaper.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${app.order-reaper.lock-lease:10m}")
+    private Duration lockLease;
+
+    public PendingOrderReaper(OrderService orderService, SchedulerLockService lockService, MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.lockService = lockService;
+        this.ordersCancelled = Counter.builder("app.order_reaper.orders_cancelled")
+                .description("Stale PENDING orders cancelled by the reaper")
+                .register(meterRegistry);
+        this.unitsReleased = Counter.builder("app.order_reaper.units_released")
+                .description("Stock units returned to inventory by the reaper")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("app.order_reaper.run")
+                .description("Duration of reaper runs that held the lock")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-reaper.interval-ms:60000}")
+    public void scheduledReap() {
+        if (enabled) {
+            reap();
+        }
+    }
+
+    /**
+     * Runs one reaper pass and returns the number of orders cancelled, or 0 when another node
+     * holds the lock.
+     */
+    public int reap() {
+        if (!lockService.tryLock(LOCK_NAME, lockLease)) {
+            log.debug("Pending order reaper lock held elsewhere, skipping");
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        int totalOrders = 0;
+        long totalUnits = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(ttl);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                OrderService.StaleOrderRelease released = orderService.cancelStalePendingOrders(cutoff, batchSize);
+                totalOrders += released.orders();
+                totalUnits += released.units();
+                ordersCancelled.increment(released.orders());
+                unitsReleased.increment(released.units());
+                if (released.orders() < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Pending order reaper failed after cancelling {} orders", totalOrders, e);
+        } finally {
+            lockService.unlock(LOCK_NAME);
+            runTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        if (totalOrders > 0) {
+            log.info("Pending order reaper cancelled {} orders older than {}, released {} units",
+                    totalOrders, ttl, totalUnits);
+        }
+        return totalOrders;
+    }
+}
@@ -1,82 +1,187 @@
 package com.example.productorder.service;
 
+import com.example.productorder.cache.CacheLoaderRegistry;
 import com.example.productorder.document.ProductDocument;
 import com.example.productorder.dto.ProductDTO;
+import com.example.productorder.dto.StockAdjustmentDTO;
+import com.example.productorder.exception.InsufficientStockException;
 import com.example.productorder.exception.ResourceNotFoundException;
 import com.example.productorder.model.Product;
+import com.example.productorder.repository.ProductBulkRepository;
 import com.example.productorder.repository.ProductRepository;
 import com.example.productorder.repository.ProductSearchRepository;
+import com.example.productorder.resilience.Dependency;
+import com.example.productorder.resilience.DependencyRegistry;
+import com.example.productorder.resilience.DependencyUnavailableException;
+import com.example.productorder.stream.ProductChangedEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class ProductService {
 
+    // Product by id, the full catalog list and search results expire under separate policies
+    public static final String PRODUCT_CACHE = "products";
+    public static final String CATALOG_CACHE = "productCatalog";
+    public static final String SEARCH_CACHE = "productSearch";
+
+    private static final int REINDEX_BATCH_SIZE = 500;
+
     private final ProductRepository productRepository;
+    private final ProductBulkRepository productBulkRepository;
+    private final SingleFlight singleFlight;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Dependency elasticsearch;
 
     @Autowired(required = false)
     private ProductSearchRepository productSearchRepository;
 
-    public ProductService(ProductRepository productRepository) {
+    @Autowired(required = false)
+    private CacheManager cacheManager;
+
+    @Value("${app.products.max-stock-adjustments:100000}")
+    private int maxStockAdjustments;
+
+    // Above this many products, a bulk write clears the product cache instead of evicting key by key
+    @Value("${app.cache.bulk-evict-threshold:1000}")
+    private int bulkEvictThreshold;
+
+    public ProductService(ProductRepository productRepository, ProductBulkRepository productBulkRepository,
+                          SingleFlight singleFlight, TransactionTemplate transactionTemplate,
+                          CacheLoaderRegistry cacheLoaders, DependencyRegistry dependencies,
+                          ApplicationEventPublisher eventPublisher) {
         this.productRepository = productRepository;
+        this.productBulkRepository = productBulkRepository;
+        this.singleFlight = singleFlight;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.elasticsearch = dependencies.get(DependencyRegistry.ELASTICSEARCH);
+
+        // Loaders used by refresh-ahead to reload hot entries before they expire
+        cacheLoaders.register(PRODUCT_CACHE, id -> productRepository.findById((Long) id).orElse(null));
+        cacheLoaders.register(CATALOG_CACHE, key -> productRepository.findAll());
     }
 
-    @Cacheable(value = "products", key = "'all'")
+    @Transactional(readOnly = true)
+    @Cacheable(value = CATALOG_CACHE, key = "'all'", sync = true)
     public List<Product> getAllProducts() {
         log.debug("Fetching all products from database");
         return productRepository.findAll();
     }
 
-    @Cacheable(value = "products", key = "#id")
+    // Concurrent misses for the same id share one query through the single flight (also when no cache
+    // is configured), so the cache itself is not synchronized. Not transactional: callers waiting on
+    // another caller's load don't hold a connection, the repository call opens its own read-only one.
+    @Cacheable(value = PRODUCT_CACHE, key = "#id")
     public Product getProductById(Long id) {
-        log.debug("Fetching product with id: {} from database", id);
+        return singleFlight.run("product", id, () -> {
+            log.debug("Fetching product with id: {} from database", id);
+            return findProduct(id);
+        });
+    }
+
+    // Managed instance for write paths, never shared with other callers
+    private Product findProduct(Long id) {
         return productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
-    // Search using Elasticsearch
+    // Entity tag of the current row, without loading it (conditional GET)
+    @Transactional(readOnly = true)
+    public String getProductETag(Long id) {
+        return productRepository.findUpdatedAtById(id)
+                .map(updatedAt -> ETags.product(id, updatedAt))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public String getCatalogETag() {
+        Object[] row = productRepository.findCatalogVersion().get(0);
+        return ETags.catalog(((Number) row[0]).longValue(), (LocalDateTime) row[1]);
+    }
+
+    // Search using Elasticsearch. Not transactional, so no connection is held while Elasticsearch answers.
+    // While its circuit breaker is open the database is searched directly, without calling Elasticsearch.
+    // The term is expected normalised (see searchTerm), so the cache key is exactly what is searched for.
+    @Cacheable(value = SEARCH_CACHE, key = "#name", sync = true)
     public List<Product> searchProductsByName(String name) {
         log.debug("Searching products with name: {}", name);
 
         // If Elasticsearch is not available, fallback to database search
         if (productSearchRepository == null) {
             log.warn("Elasticsearch not available, using database search");
-            return productRepository.findByNameContainingIgnoreCase(name);
+            return searchDatabase(name);
         }
 
+        List<ProductDocument> documents;
         try {
-            List<ProductDocument> documents = productSearchRepository
-                    .findByNameContainingOrDescriptionContainingAllIgnoreCase(name, name);
-
-            // Convert documents to entities
-            return documents.stream()
-                    .map(doc -> getProductById(Long.parseLong(doc.getId())))
-                    .collect(Collectors.toList());
+            documents = elasticsearch.call(() -> productSearchRepository
+                    .findByNameContainingOrDescriptionContainingAllIgnoreCase(name, name));
+        } catch (DependencyUnavailableException e) {
+            log.debug("{}, using database search", e.getMessage());
+            return searchDatabase(name);
         } catch (Exception e) {
             log.warn("Elasticsearch search failed, falling back to database search", e);
-            return productRepository.findByNameContainingIgnoreCase(name);
+            return searchDatabase(name);
         }
+
+        // Convert documents to entities
+        return documents.stream()
+                .map(doc -> getProductById(Long.parseLong(doc.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private List<Product> searchDatabase(String name) {
+        return singleFlight.run("product-search", name, () -> productRepository.findByNameContainingIgnoreCase(name));
+    }
+
+    // Both searches ignore case and surrounding whitespace is not part of the term, so terms differing only
+    // in those share one cache entry and one query
+    public static String searchTerm(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "products", key = "'all'")
+            @CacheEvict(value = CATALOG_CACHE, key = "'all'"),
+            @CacheEvict(value = SEARCH_CACHE, allEntries = true)
     })
     public Product createProduct(ProductDTO productDTO) {
         log.debug("Creating new product: {}", productDTO.getName());
         Product product = new Product();
+        product.setSku(productDTO.getSku());
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
@@ -84,6 +189,7 @@ public class ProductService {
         product.setImageUrl(productDTO.getImageUrl());
 
         Product savedProduct = productRepository.save(product);
+        publishChange(List.of(savedProduct.getId()));
 
         // Index in Elasticsearch
         indexProductInElasticsearch(savedProduct);
@@ -93,12 +199,16 @@ public class ProductService {
 
     @Transactional
     @Caching(
-            put = {@CachePut(value = "products", key = "#id")},
-            evict = {@CacheEvict(value = "products", key = "'all'")}
+            put = {@CachePut(value = PRODUCT_CACHE, key = "#id")},
+            evict = {
+                    @CacheEvict(value = CATALOG_CACHE, key = "'all'"),
+                    @CacheEvict(value = SEARCH_CACHE, allEntries = true)
+            }
     )
     public Product updateProduct(Long id, ProductDTO productDTO) {
         log.debug("Updating product with id: {}", id);
-        Product product = getProductById(id);
+        Product product = findProduct(id);
+        product.setSku(productDTO.getSku());
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
@@ -106,6 +216,7 @@ public class ProductService {
         product.setImageUrl(productDTO.getImageUrl());
 
         Product updatedProduct = productRepository.save(product);
+        publishChange(List.of(id));
 
         // Update in Elasticsearch
         indexProductInElasticsearch(updatedProduct);
@@ -115,18 +226,21 @@ public class ProductService {
 
     @Transactional
     @Caching(evict = {
-            @CacheEvict(value = "products", key = "#id"),
-            @CacheEvict(value = "products", key = "'all'")
+            @CacheEvict(value = PRODUCT_CACHE, key = "#id"),
+            @CacheEvict(value = CATALOG_CACHE, key = "'all'"),
+            @CacheEvict(value = SEARCH_CACHE, allEntries = true)
     })
     public void deleteProduct(Long id) {
         log.debug("Deleting product with id: {}", id);
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         productRepository.delete(product);
 
         // Remove from Elasticsearch
         if (productSearchRepository != null) {
             try {
-                productSearchRepository.deleteById(id.toString());
+                elasticsearch.run(() -> productSearchRepository.deleteById(id.toString()));
+            } catch (DependencyUnavailableException e) {
+                log.warn("{}, product {} not removed from the index", e.getMessage(), id);
             } catch (Exception e) {
                 log.warn("Failed to delete product from Elasticsearch", e);
             }
@@ -135,14 +249,18 @@ public class ProductService {
 
     @Transactional
     @Caching(
-            put = {@CachePut(value = "products", key = "#id")},
-            evict = {@CacheEvict(value = "products", key = "'all'")}
+            put = {@CachePut(value = PRODUCT_CACHE, key = "#id")},
+            evict = {
+                    @CacheEvict(value = CATALOG_CACHE, key = "'all'"),
+                    @CacheEvict(value = SEARCH_CACHE, allEntries = true)
+            }
     )
     public Product updateStock(Long id, Integer quantity) {
         log.debug("Updating stock for product id: {} by quantity: {}", id, quantity);
-        Product product = getProductById(id);
+        Product product = findProduct(id);
         product.setStock(product.getStock() + quantity);
         Product updatedProduct = productRepository.save(product);
+        publishChange(List.of(id));
 
         // Update in Elasticsearch
         indexProductInElasticsearch(updatedProduct);
@@ -150,6 +268,76 @@ public class ProductService {
         return updatedProduct;
     }
 
+    /**
+     * Applies a warehouse sync in one transaction: one batched {@code UPDATE} per adjustment, in id
+     * order, setting an absolute stock or adding a delta. Fails as a whole, with nothing applied, when
+     * a product does not exist or a delta would make its stock negative. Caches are evicted once after
+     * commit and the changed products are reindexed with a single Elasticsearch bulk request.
+     * Returns the number of products updated.
+     */
+    public int adjustStock(List<StockAdjustmentDTO> adjustments) {
+        if (adjustments == null || adjustments.isEmpty()) {
+            throw new IllegalArgumentException("At least one stock adjustment is required");
+        }
+        if (adjustments.size() > maxStockAdjustments) {
+            throw new IllegalArgumentException("At most " + maxStockAdjustments + " stock adjustments per request");
+        }
+        Set<Long> seen = new HashSet<>();
+        for (StockAdjustmentDTO adjustment : adjustments) {
+            if (adjustment.getProductId() == null) {
+                throw new IllegalArgumentException("productId is required");
+            }
+            if ((adjustment.getDelta() == null) == (adjustment.getAbsolute() == null)) {
+                throw new IllegalArgumentException("Exactly one of delta and absolute is required for product "
+                        + adjustment.getProductId());
+            }
+            if (adjustment.getAbsolute() != null && adjustment.getAbsolute() < 0) {
+                throw new IllegalArgumentException("Stock cannot be negative for product " + adjustment.getProductId());
+            }
+            if (!seen.add(adjustment.getProductId())) {
+                throw new IllegalArgumentException("Duplicate adjustment for product " + adjustment.getProductId());
+            }
+        }
+
+        List<StockAdjustmentDTO> ordered = adjustments.stream()
+                .sorted(Comparator.comparing(StockAdjustmentDTO::getProductId))
+                .toList();
+        List<Long> ids = ordered.stream().map(StockAdjustmentDTO::getProductId).toList();
+        log.debug("Adjusting stock of {} products", ids.size());
+
+        List<Product> updated = transactionTemplate.execute(status -> {
+            int[] counts = productBulkRepository.adjustStock(ordered, LocalDateTime.now());
+            List<Long> rejected = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] == 0) {
+                    rejected.add(ids.get(i));
+                }
+            }
+            if (!rejected.isEmpty()) {
+                throwAdjustmentFailure(rejected);
+            }
+
+            evictProductCaches(ids);
+            publishChange(ids);
+            return productBulkRepository.findAllByIds(ids);
+        });
+
+        indexProductsInElasticsearch(updated);
+        return updated.size();
+    }
+
+    // Tells missing products apart from those a delta would take below zero; reports the first few ids
+    private void throwAdjustmentFailure(List<Long> rejected) {
+        Set<Long> existing = new HashSet<>();
+        productRepository.findAllById(rejected).forEach(product -> existing.add(product.getId()));
+        List<Long> missing = rejected.stream().filter(id -> !existing.contains(id)).limit(20).toList();
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Products not found with ids: " + missing);
+        }
+        throw new InsufficientStockException("Insufficient stock for products: "
+                + rejected.stream().limit(20).toList() + " (" + rejected.size() + " adjustments rejected)");
+    }
+
     // Index product in Elasticsearch
     private void indexProductInElasticsearch(Product product) {
         if (productSearchRepository == null) {
@@ -159,28 +347,148 @@ public class ProductService {
 
         try {
             ProductDocument document = ProductDocument.fromProduct(product);
-            productSearchRepository.save(document);
+            elasticsearch.call(() -> productSearchRepository.save(document));
             log.debug("Product {} indexed in Elasticsearch", product.getId());
+        } catch (DependencyUnavailableException e) {
+            log.warn("{}, product {} not indexed", e.getMessage(), product.getId());
         } catch (Exception e) {
             log.error("Failed to index product in Elasticsearch", e);
         }
     }
 
-    // Reindex all products in Elasticsearch
-    @Transactional(readOnly = true)
+    // Index products written in bulk with a single Elasticsearch bulk request
+    void indexProductsInElasticsearch(Collection<Product> products) {
+        if (productSearchRepository == null || products.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<ProductDocument> documents = products.stream().map(ProductDocument::fromProduct).toList();
+            elasticsearch.call(() -> productSearchRepository.saveAll(documents));
+            log.debug("{} products indexed in Elasticsearch", products.size());
+        } catch (DependencyUnavailableException e) {
+            log.warn("{}, {} products not indexed", e.getMessage(), products.size());
+        } catch (Exception e) {
+            log.error("Failed to index {} products in Elasticsearch", products.size(), e);
+        }
+    }
+
+    /**
+     * Loads the given products in one query and atomically takes the requested quantities from
+     * stock, updating rows in id order so concurrent checkouts cannot deadlock. Joins the caller's
+     * transaction and throws {@link InsufficientStockException} (rolling it back) when a product is
+     * short. Cached entries for the products are evicted after commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, Product> reserveStock(Map<Long, Integer> quantities) {
+        Map<Long, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Product not found with id: " + entry.getKey());
+            }
+            if (productRepository.decrementStock(product.getId(), entry.getValue(), now) == 0) {
+                throw new InsufficientStockException(
+                    "Insufficient stock for product: " + product.getName() +
+                    ". Available: " + product.getStock() + ", Requested: " + entry.getValue()
+                );
+            }
+        }
+
+        evictProductCaches(quantities.keySet());
+        publishChange(quantities.keySet());
+        return products;
+    }
+
+    /**
+     * Puts quantities back into stock with one {@code stock = stock + ?} update per product, in id
+     * order. Joins the caller's transaction; cached entries are evicted after commit.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseStock(Map<Long, Integer> quantities) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Long, Integer> entry : new TreeMap<>(quantities).entrySet()) {
+            productRepository.incrementStock(entry.getKey(), entry.getValue(), now);
+        }
+        evictProductCaches(quantities.keySet());
+        publishChange(quantities.keySet());
+    }
+
+    // Delivered to the product stream after commit (immediately when there is no transaction)
+    void publishChange(Collection<Long> productIds) {
+        eventPublisher.publishEvent(new ProductChangedEvent(List.copyOf(productIds)));
+    }
+
+    // Programmatic eviction for writes that bypass the cache annotations (bulk SQL updates).
+    // Deferred until commit so a concurrent read cannot re-cache the old row.
+    void evictProductCaches(Collection<Long> productIds) {
+        if (cacheManager == null) {
+            return;
+        }
+        Runnable evict = () -> {
+            Cache products = cacheManager.getCache(PRODUCT_CACHE);
+            if (products != null) {
+                if (productIds.size() > bulkEvictThreshold) {
+                    products.clear();
+                } else {
+                    productIds.forEach(products::evict);
+                }
+            }
+            Cache catalog = cacheManager.getCache(CATALOG_CACHE);
+            if (catalog != null) {
+                catalog.evict("all");
+            }
+            Cache search = cacheManager.getCache(SEARCH_CACHE);
+            if (search != null) {
+                search.clear();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    // Reindex all products in Elasticsearch. Not transactional: each page is read in its own short
+    // repository call, so no connection is held while Elasticsearch is being written.
     public void reindexAllProducts() {
-        log.info("Starting reindexing all products");
-        List<Product> products = productRepository.findAll();
+        if (productSearchRepository == null) {
+            log.warn("Elasticsearch not available, skipping reindex");
+            return;
+        }
 
-        products.forEach(product -> {
+        log.info("Starting reindexing all products");
+        long lastId = 0;
+        int total = 0;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REINDEX_BATCH_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            lastId = page.get(page.size() - 1).getId();
+            List<ProductDocument> documents = page.stream().map(ProductDocument::fromProduct).toList();
             try {
-                indexProductInElasticsearch(product);
+                elasticsearch.call(() -> productSearchRepository.saveAll(documents));
+                total += page.size();
+            } catch (DependencyUnavailableException e) {
+                // Stop instead of reading every remaining page only to skip it
+                log.error("{}, reindexing stopped after {} products", e.getMessage(), total);
+                break;
             } catch (Exception e) {
-                log.error("Failed to index product: {}", product.getId(), e);
+                log.error("Failed to index products up to id {}", lastId, e);
             }
-        });
+        } while (page.size() == REINDEX_BATCH_SIZE);
 
-        log.info("Reindexing completed. Total products: {}", products.size());
+        log.info("Reindexing completed. Total products: {}", total);
     }
 }
-
@@ -0,0 +1,65 @@
+package com.example.productorder.service;
+
+import com.example.productorder.model.Order;
+import com.example.productorder.repository.DailySalesRepository;
+import com.example.productorder.repository.OrderStatusCountRepository;
+import com.example.productorder.repository.ProductSalesRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Creates zeroed aggregate rows in their own transaction. Two checkouts racing to create the
+ * same row must not fail the order, so a duplicate key here simply means the row now exists.
+ * Rows are created with a plain INSERT: a JPA save on an assigned id would merge, and could
+ * overwrite increments another transaction has already committed.
+ */
+@Component
+public class ReportRowInitializer {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderStatusCountRepository orderStatusCountRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ReportRowInitializer(DailySalesRepository dailySalesRepository,
+                                OrderStatusCountRepository orderStatusCountRepository,
+                                ProductSalesRepository productSalesRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.orderStatusCountRepository = orderStatusCountRepository;
+        this.productSalesRepository = productSalesRepository;
+        // The insert commits (or fails) on its own; a duplicate key must not poison the checkout
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void createDailyRow(LocalDate date) {
+        try {
+            transactionTemplate.executeWithoutResult(s -> dailySalesRepository.insertEmpty(date));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    public void createStatusRow(Order.OrderStatus status) {
+        try {
+            transactionTemplate.executeWithoutResult(s -> orderStatusCountRepository.insertEmpty(status.name()));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+
+    public void createProductRow(Long productId, String productName) {
+        try {
+            transactionTemplate.executeWithoutResult(s ->
+                    productSalesRepository.insertEmpty(productId, productName));
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.productorder.service;
 
+import com.example.productorder.resilience.Dependency;
+import com.example.productorder.resilience.DependencyRegistry;
+import com.example.productorder.resilience.DependencyUnavailableException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -24,6 +27,13 @@ import java.util.UUID;
 @Slf4j
 public class S3Service {
 
+    // Breaker and bulkhead: a slow bucket cannot take every request thread
+    private final Dependency s3;
+
+    public S3Service(DependencyRegistry dependencies) {
+        this.s3 = dependencies.get(DependencyRegistry.S3);
+    }
+
     @Autowired(required = false)
     private S3Client s3Client;
 
@@ -76,7 +86,8 @@ public class S3Service {
                     .contentType(contentType)
                     .build();
 
-            s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+            RequestBody body = RequestBody.fromInputStream(file.getInputStream(), file.getSize());
+            s3.call(() -> s3Client.putObject(putObjectRequest, body));
 
             // Return public URL
             String url = String.format("https://%s.s3.%s.amazonaws.com/%s", bucketName, region, key);
@@ -112,9 +123,11 @@ public class S3Service {
                     .key(key)
                     .build();
 
-            s3Client.deleteObject(deleteObjectRequest);
+            s3.call(() -> s3Client.deleteObject(deleteObjectRequest));
             log.info("File deleted successfully from S3: {}", fileUrl);
 
+        } catch (DependencyUnavailableException e) {
+            log.warn("S3 unavailable, file not deleted: {} ({})", fileUrl, e.getMessage());
         } catch (S3Exception e) {
             log.error("Failed to delete file from S3", e);
         }
@@ -152,6 +165,7 @@ public class S3Service {
      * Download file from S3
      * @param key The S3 key (e.g., "products/uuid.jpg")
      * @return File content as byte array
+     * @throws DependencyUnavailableException if the S3 circuit breaker is open or its bulkhead is full
      */
     public byte[] downloadFile(String key) throws IOException {
         if (!s3Enabled || s3Client == null) {
@@ -164,7 +178,8 @@ public class S3Service {
                     .key(key)
                     .build();
 
-            byte[] bytes = s3Client.getObject(getObjectRequest, ResponseTransformer.toBytes()).asByteArray();
+            byte[] bytes = s3.call(() -> s3Client.getObject(getObjectRequest, ResponseTransformer.toBytes()))
+                    .asByteArray();
             log.debug("Downloaded file from S3: {}", key);
             return bytes;
 
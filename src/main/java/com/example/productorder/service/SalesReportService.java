@@ -0,0 +1,156 @@
+package com.example.productorder.service;
+
+import com.example.productorder.model.DailySales;
+import com.example.productorder.model.Order;
+import com.example.productorder.model.OrderItem;
+import com.example.productorder.model.OrderStatusCount;
+import com.example.productorder.model.ProductSales;
+import com.example.productorder.money.Money;
+import com.example.productorder.repository.DailySalesRepository;
+import com.example.productorder.repository.OrderRepository;
+import com.example.productorder.repository.OrderStatusCountRepository;
+import com.example.productorder.repository.ProductSalesRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sales reports served from aggregate tables that order writes keep up to date, so dashboards
+ * never scan {@code orders} or {@code order_items}.
+ * <p>
+ * The {@code record*} methods must run inside the transaction that changes the order; the
+ * aggregates then commit or roll back together with it. Cancelled orders don't count towards
+ * revenue or products sold.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SalesReportService {
+
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderStatusCountRepository orderStatusCountRepository;
+    private final ProductSalesRepository productSalesRepository;
+    private final OrderRepository orderRepository;
+    private final ReportRowInitializer rowInitializer;
+
+    @Transactional(readOnly = true)
+    public List<DailySales> getDailyRevenue(LocalDate from, LocalDate to) {
+        return dailySalesRepository.findBySalesDateBetweenOrderBySalesDateAsc(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderStatusCount> getOrderCountsByStatus() {
+        return orderStatusCountRepository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSales> getTopProducts(int limit) {
+        return productSalesRepository.findAllByOrderByQuantitySoldDesc(PageRequest.of(0, limit));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOrderCreated(Order order) {
+        adjustStatusCount(order.getStatus(), 1);
+        if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+            adjustSales(order, 1);
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Order order, Order.OrderStatus from, Order.OrderStatus to) {
+        if (from == to) {
+            return;
+        }
+        adjustStatusCount(from, -1);
+        adjustStatusCount(to, 1);
+
+        if (to == Order.OrderStatus.CANCELLED) {
+            adjustSales(order, -1);
+        } else if (from == Order.OrderStatus.CANCELLED) {
+            adjustSales(order, 1);
+        }
+    }
+
+    /**
+     * Recomputes every aggregate from the order tables, archived orders included. Intended for the initial backfill of
+     * historical orders and for repairs; run it outside peak hours since orders committed while
+     * it runs may be counted before or after the rebuild depending on timing.
+     */
+    @Transactional
+    public void rebuild() {
+        log.info("Rebuilding sales report aggregates");
+        dailySalesRepository.deleteAllInBatch();
+        orderStatusCountRepository.deleteAllInBatch();
+        productSalesRepository.deleteAllInBatch();
+
+        List<DailySales> daily = new ArrayList<>();
+        for (Object[] row : orderRepository.sumDailySales(Order.OrderStatus.CANCELLED.name())) {
+            daily.add(new DailySales(toLocalDate(row[0]), ((Number) row[1]).longValue(), toDecimal(row[2])));
+        }
+        dailySalesRepository.saveAll(daily);
+
+        List<OrderStatusCount> statuses = new ArrayList<>();
+        for (Object[] row : orderRepository.countByStatus()) {
+            statuses.add(new OrderStatusCount(Order.OrderStatus.valueOf((String) row[0]), ((Number) row[1]).longValue()));
+        }
+        orderStatusCountRepository.saveAll(statuses);
+
+        List<ProductSales> products = new ArrayList<>();
+        for (Object[] row : orderRepository.sumProductSales(Order.OrderStatus.CANCELLED.name())) {
+            products.add(new ProductSales(((Number) row[0]).longValue(), (String) row[1],
+                    ((Number) row[2]).longValue(), toDecimal(row[3])));
+        }
+        productSalesRepository.saveAll(products);
+
+        log.info("Sales report rebuild completed: {} days, {} statuses, {} products",
+                daily.size(), statuses.size(), products.size());
+    }
+
+    private void adjustStatusCount(Order.OrderStatus status, long delta) {
+        if (orderStatusCountRepository.increment(status, delta) == 0) {
+            rowInitializer.createStatusRow(status);
+            orderStatusCountRepository.increment(status, delta);
+        }
+    }
+
+    private void adjustSales(Order order, int sign) {
+        LocalDate date = order.getCreatedAt().toLocalDate();
+        BigDecimal revenue = Money.toDecimal(sign * order.getTotalAmountMinor());
+        if (dailySalesRepository.increment(date, sign, revenue) == 0) {
+            rowInitializer.createDailyRow(date);
+            dailySalesRepository.increment(date, sign, revenue);
+        }
+
+        for (OrderItem item : order.getItems()) {
+            Long productId = item.getProduct().getId();
+            long quantity = (long) sign * item.getQuantity();
+            BigDecimal subtotal = Money.toDecimal(sign * item.getSubtotalMinor());
+            if (productSalesRepository.increment(productId, quantity, subtotal) == 0) {
+                rowInitializer.createProductRow(productId, item.getProduct().getName());
+                productSalesRepository.increment(productId, quantity, subtotal);
+            }
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static BigDecimal toDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.productorder.service;
+
+import com.example.productorder.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Cluster-wide locks for scheduled jobs, backed by the {@code scheduler_locks} table. A lock is a
+ * lease: if its holder dies the lock frees itself once {@code lockedUntil} passes, so the lease
+ * must be longer than the job can run.
+ */
+@Service
+@Slf4j
+public class SchedulerLockService {
+
+    private final SchedulerLockRepository lockRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public SchedulerLockService(SchedulerLockRepository lockRepository, PlatformTransactionManager transactionManager) {
+        this.lockRepository = lockRepository;
+        // Each acquire/release commits on its own, whatever the caller is doing
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean tryLock(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer updated = transactionTemplate.execute(status ->
+                lockRepository.tryAcquire(name, owner, now, now.plus(lease)));
+        if (updated != null && updated > 0) {
+            return true;
+        }
+        if (lockRepository.existsById(name)) {
+            return false;
+        }
+
+        // First use of this lock name: create the row already held by us. A plain INSERT, so a
+        // node racing us gets a duplicate key rather than merging over our row
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    lockRepository.insert(name, now.plus(lease), owner));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Created concurrently by another node, which now holds it
+            return false;
+        }
+    }
+
+    public void unlock(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                lockRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
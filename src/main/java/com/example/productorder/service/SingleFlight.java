@@ -0,0 +1,103 @@
+package com.example.productorder.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical loads: while a load for a (name, key) pair is running, other
+ * callers asking for the same pair wait for its result instead of starting their own. Works with
+ * or without a cache in front, so a hot product that just expired (or was never cached) costs one
+ * query however many requests arrive at once. Results and exceptions are shared as-is, so loaders
+ * must return values the callers treat as read-only.
+ * <p>
+ * Metrics per name: {@code app.single_flight.loads} (loads run), {@code app.single_flight.shared}
+ * (requests answered by another caller's load) and {@code app.single_flight.waiters} (callers
+ * served by each load besides its own).
+ */
+@Component
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<FlightKey, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T run(String name, Object key, Supplier<T> loader) {
+        FlightKey flightKey = new FlightKey(name, key);
+        Flight flight = new Flight();
+        Flight existing = inFlight.putIfAbsent(flightKey, flight);
+        Meters meters = metersFor(name);
+        if (existing != null) {
+            existing.waiters.incrementAndGet();
+            meters.shared.increment();
+            return (T) join(existing.result);
+        }
+
+        try {
+            T value = loader.get();
+            flight.result.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(flightKey, flight);
+            meters.loads.increment();
+            meters.waiters.record(flight.waiters.get());
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Meters metersFor(String name) {
+        return meters.computeIfAbsent(name, key -> new Meters(
+                Counter.builder("app.single_flight.loads")
+                        .tag("name", name)
+                        .description("Loads started by single-flight callers")
+                        .register(meterRegistry),
+                Counter.builder("app.single_flight.shared")
+                        .tag("name", name)
+                        .description("Requests answered by a load already in flight")
+                        .register(meterRegistry),
+                DistributionSummary.builder("app.single_flight.waiters")
+                        .tag("name", name)
+                        .description("Callers that shared each load, besides the one that ran it")
+                        .register(meterRegistry)));
+    }
+
+    private record FlightKey(String name, Object key) {
+    }
+
+    private record Meters(Counter loads, Counter shared, DistributionSummary waiters) {
+    }
+
+    private static final class Flight {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private final AtomicInteger waiters = new AtomicInteger();
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.productorder.stream;
+
+import java.util.Collection;
+
+/**
+ * Published by {@code ProductService} whenever a write may have changed the stock or price of the
+ * given products. Carries ids only; listeners re-read current values after commit.
+ */
+public record ProductChangedEvent(Collection<Long> productIds) {
+}
@@ -0,0 +1,257 @@
+package com.example.productorder.stream;
+
+import com.example.productorder.model.Product;
+import com.example.productorder.repository.ProductRepository;
+import com.example.productorder.resilience.Dependency;
+import com.example.productorder.resilience.DependencyRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes product stock and price changes to server-sent event subscribers.
+ * <p>
+ * Changed product ids are collected for {@code app.stream.coalesce-window-ms}; each window the
+ * current rows are read once and offered to every interested subscriber, so a burst of writes to
+ * one product becomes one event. Each subscriber keeps at most the latest value per product (older
+ * unsent values are replaced) and at most {@code app.stream.subscriber-buffer} products, and is
+ * written to by a shared sender pool so a slow client never holds up the others.
+ * <p>
+ * With {@code app.stream.redis.enabled=true} changed ids are published on a Redis channel and every
+ * node (including this one) picks them up through {@link #markChanged}, so subscribers on any node
+ * see writes made on any other.
+ */
+@Service
+@Slf4j
+public class ProductStreamService {
+
+    public static final String REDIS_CHANNEL = "product-changes";
+
+    private final ProductRepository productRepository;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+    private final Dependency redisDependency;
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+
+    @Value("${app.stream.redis.enabled:false}")
+    private boolean redisFanout;
+
+    @Value("${app.stream.subscriber-buffer:256}")
+    private int subscriberBuffer;
+
+    @Value("${app.stream.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${app.stream.timeout:30m}")
+    private Duration timeout;
+
+    public ProductStreamService(ProductRepository productRepository,
+                                ObjectProvider<StringRedisTemplate> redisTemplate,
+                                DependencyRegistry dependencies,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.stream.sender-threads:4}") int senderThreads) {
+        this.productRepository = productRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisDependency = dependencies.get(DependencyRegistry.REDIS);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "product-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("app.product_stream.subscribers", subscribers, Set::size)
+                .description("Open product stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the given products, or for every product when {@code productIds} is empty.
+     * Subscribers to specific products first receive their current values.
+     */
+    public SseEmitter subscribe(Set<Long> productIds) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many product stream subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(productIds));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        if (!productIds.isEmpty()) {
+            productRepository.findAllById(productIds)
+                    .forEach(product -> subscriber.offer(ProductUpdate.fromProduct(product)));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        StringRedisTemplate redis = redisFanout ? redisTemplate.getIfUnique() : null;
+        if (redis != null) {
+            try {
+                String ids = event.productIds().stream().map(String::valueOf).collect(Collectors.joining(","));
+                redisDependency.call(() -> redis.convertAndSend(REDIS_CHANNEL, ids));
+                return;
+            } catch (Exception e) {
+                log.warn("Could not publish product changes to Redis, notifying local subscribers only: {}",
+                        e.getMessage());
+            }
+        }
+        markChanged(event.productIds());
+    }
+
+    public void markChanged(Collection<Long> productIds) {
+        if (!subscribers.isEmpty()) {
+            changed.addAll(productIds);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.stream.coalesce-window-ms:250}")
+    public void flush() {
+        if (changed.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = changed.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        if (subscribers.isEmpty()) {
+            return;
+        }
+
+        for (Product product : productRepository.findAllById(ids)) {
+            ProductUpdate update = ProductUpdate.fromProduct(product);
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.wants(update.id())) {
+                    subscriber.offer(update);
+                }
+            }
+        }
+    }
+
+    // Keeps idle connections from being closed by proxies and detects clients that went away
+    @Scheduled(fixedDelayString = "${app.stream.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::ping);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> productIds;
+        // Latest unsent value per product, oldest first
+        private final LinkedHashMap<Long, ProductUpdate> pending = new LinkedHashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean pingRequested;
+
+        private Subscriber(SseEmitter emitter, Set<Long> productIds) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+        }
+
+        boolean wants(Long productId) {
+            return productIds.isEmpty() || productIds.contains(productId);
+        }
+
+        void offer(ProductUpdate update) {
+            synchronized (pending) {
+                // Re-inserting moves the product to the back; a superseded value is never sent
+                pending.remove(update.id());
+                pending.put(update.id(), update);
+                if (pending.size() > subscriberBuffer) {
+                    Iterator<Long> oldest = pending.keySet().iterator();
+                    oldest.next();
+                    oldest.remove();
+                }
+            }
+            schedule();
+        }
+
+        void ping() {
+            pingRequested = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    List<ProductUpdate> batch;
+                    synchronized (pending) {
+                        batch = new ArrayList<>(pending.values());
+                        pending.clear();
+                    }
+                    if (batch.isEmpty() && !pingRequested) {
+                        break;
+                    }
+                    if (pingRequested) {
+                        pingRequested = false;
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    }
+                    for (ProductUpdate update : batch) {
+                        emitter.send(SseEmitter.event()
+                                .name("product")
+                                .id(String.valueOf(update.id()))
+                                .data(update));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // An offer that arrived after the last check but before the flag was cleared
+            boolean more;
+            synchronized (pending) {
+                more = !pending.isEmpty();
+            }
+            if (more || pingRequested) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.productorder.stream;
+
+import com.example.productorder.model.Product;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Payload of one "product" server-sent event
+public record ProductUpdate(Long id, BigDecimal price, Integer stock, LocalDateTime updatedAt) {
+
+    public static ProductUpdate fromProduct(Product product) {
+        return new ProductUpdate(product.getId(), product.getPrice(), product.getStock(), product.getUpdatedAt());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.productorder.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Writes a large list as a single array, one database page at a time, so neither the entities nor
+ * the encoded body are ever held in full. The encoding is negotiated from the Accept header: JSON
+ * by default, Smile or CBOR for internal consumers that ask for them.
+ */
+@Component
+@Slf4j
+public class StreamingListWriter {
+
+    public static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    public static final MediaType CBOR = MediaType.valueOf("application/cbor");
+
+    private static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON, SMILE, CBOR);
+
+    private final ObjectMapper jsonMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+
+    public StreamingListWriter(ObjectMapper objectMapper) {
+        // Same modules and settings as the JSON mapper, only the wire format differs
+        this.jsonMapper = objectMapper;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+    }
+
+    /**
+     * @param accept    the request's Accept header (may be null)
+     * @param nextPage  loads the page of elements following the given id (0 for the first page);
+     *                  an empty page ends the stream
+     * @param idOf      id of an element, used as the cursor for the next page
+     */
+    public <T> ResponseEntity<StreamingResponseBody> write(String accept, Function<Long, List<T>> nextPage,
+                                                           Function<T, Long> idOf) {
+        MediaType mediaType = negotiate(accept);
+        ObjectMapper mapper = SMILE.equals(mediaType) ? smileMapper : CBOR.equals(mediaType) ? cborMapper : jsonMapper;
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                long cursor = 0;
+                List<T> page = nextPage.apply(cursor);
+                while (!page.isEmpty()) {
+                    for (T element : page) {
+                        mapper.writeValue(generator, element);
+                    }
+                    generator.flush();
+                    cursor = idOf.apply(page.get(page.size() - 1));
+                    page = nextPage.apply(cursor);
+                }
+                generator.writeEndArray();
+            } catch (Exception e) {
+                // Status and headers are already sent; the client sees a truncated body
+                log.error("Streaming {} response failed", mediaType, e);
+                throw e;
+            }
+        };
+        return ResponseEntity.ok().contentType(mediaType).body(body);
+    }
+
+    static MediaType negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> requested = MediaType.parseMediaTypes(accept);
+        // MediaType ranks quality first, then specificity
+        MimeTypeUtils.sortBySpecificity(requested);
+        for (MediaType candidate : requested) {
+            for (MediaType supported : SUPPORTED) {
+                if (candidate.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,7 @@
+-- Currency of the order amounts. Amounts stay DECIMAL(19, 2) values in major units (12.34); the entities hold
+-- them as long minor units (1234) and convert on read and write. Orders placed before this column existed
+-- were all in the store currency.
+
+ALTER TABLE orders ADD COLUMN currency CHAR(3) NOT NULL DEFAULT 'USD';
+
+ALTER TABLE orders_archive ADD COLUMN currency CHAR(3) NOT NULL DEFAULT 'USD';
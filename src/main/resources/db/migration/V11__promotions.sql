@@ -0,0 +1,28 @@
+-- Promotion rules evaluated in-process at checkout (see PromotionEngine). Each rule applies to one product:
+--   PERCENT_OFF  percent_bps off the line (basis points, 1500 = 15%)
+--   BUY_X_GET_Y  free_quantity free units for every buy_quantity + free_quantity units
+--   TIERED       tiers "min_quantity:bps,..." (e.g. "10:500,50:1000"), the highest tier reached applies
+
+CREATE TABLE promotions (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255) NOT NULL,
+    type          VARCHAR(32)  NOT NULL,
+    product_id    BIGINT       NOT NULL,
+    percent_bps   INT,
+    buy_quantity  INT,
+    free_quantity INT,
+    tiers         VARCHAR(500),
+    active        BOOLEAN      NOT NULL DEFAULT TRUE,
+    starts_at     DATETIME(6),
+    ends_at       DATETIME(6),
+    created_at    DATETIME(6)  NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_promotions_active ON promotions (active);
+
+-- Discount taken off each line; subtotal is the line total after it
+ALTER TABLE order_items ADD COLUMN discount DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+ALTER TABLE order_items_archive ADD COLUMN discount DECIMAL(19, 2) NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- Best-seller ranking: ProductSalesRepository.findAllByOrderByQuantitySoldDesc (ORDER BY quantity_sold DESC LIMIT ?)
+CREATE INDEX idx_product_sales_quantity_sold ON product_sales (quantity_sold DESC);
@@ -0,0 +1,50 @@
+-- Sales report aggregates and order archive tables. Newer than the V1 baseline, so databases baselined at V1
+-- get them here. IF NOT EXISTS: databases that ran these features under hibernate.ddl-auto already have them.
+
+CREATE TABLE IF NOT EXISTS daily_sales (
+    sales_date  DATE           NOT NULL,
+    order_count BIGINT         NOT NULL,
+    revenue     DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (sales_date)
+);
+
+CREATE TABLE IF NOT EXISTS order_status_counts (
+    status      VARCHAR(32) NOT NULL,
+    order_count BIGINT      NOT NULL,
+    PRIMARY KEY (status)
+);
+
+CREATE TABLE IF NOT EXISTS product_sales (
+    product_id    BIGINT         NOT NULL,
+    product_name  VARCHAR(255)   NOT NULL,
+    quantity_sold BIGINT         NOT NULL,
+    revenue       DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (product_id)
+);
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id             BIGINT         NOT NULL,
+    order_number   VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_email VARCHAR(255),
+    customer_phone VARCHAR(255),
+    total_amount   DECIMAL(19, 2) NOT NULL,
+    status         VARCHAR(32)    NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6),
+    archived_at    DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_archive_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id           BIGINT         NOT NULL,
+    order_id     BIGINT         NOT NULL,
+    product_id   BIGINT         NOT NULL,
+    product_name VARCHAR(255)   NOT NULL,
+    quantity     INT            NOT NULL,
+    price        DECIMAL(19, 2) NOT NULL,
+    subtotal     DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive (id)
+);
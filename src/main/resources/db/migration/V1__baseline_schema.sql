@@ -0,0 +1,41 @@
+-- Baseline schema: the tables hibernate.ddl-auto created before the report and archive features existed.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script,
+-- so it must stay exactly that schema; every later table goes into a newer migration.
+
+CREATE TABLE products (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255)  NOT NULL,
+    description VARCHAR(1000),
+    price       DECIMAL(19, 2) NOT NULL,
+    stock       INT           NOT NULL,
+    image_url   VARCHAR(500),
+    created_at  DATETIME(6)   NOT NULL,
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE orders (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    order_number   VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_email VARCHAR(255),
+    customer_phone VARCHAR(255),
+    total_amount   DECIMAL(19, 2) NOT NULL,
+    status         VARCHAR(32)    NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_orders_order_number UNIQUE (order_number)
+);
+
+CREATE TABLE order_items (
+    id         BIGINT         NOT NULL AUTO_INCREMENT,
+    order_id   BIGINT         NOT NULL,
+    product_id BIGINT         NOT NULL,
+    quantity   INT            NOT NULL,
+    price      DECIMAL(19, 2) NOT NULL,
+    subtotal   DECIMAL(19, 2) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_product FOREIGN KEY (product_id) REFERENCES products (id)
+);
@@ -0,0 +1,19 @@
+-- Indexes for the repository query patterns.
+
+-- OrderRepository.findByStatus / getOrdersByStatus listing, newest first
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
+
+-- OrderRepository.findIdsForArchive: status IN (...) AND updated_at < ?
+CREATE INDEX idx_orders_status_updated_at ON orders (status, updated_at);
+
+-- OrderRepository.findTopSellingProductIds (created_at >= ?) and report backfill by day
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+
+-- Customer lookups by email
+CREATE INDEX idx_orders_customer_email ON orders (customer_email, created_at);
+
+-- Product sales queries and lookups of orders containing a product
+CREATE INDEX idx_order_items_product_id ON order_items (product_id, order_id);
+
+-- Archive item lookups by order
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive (order_id);
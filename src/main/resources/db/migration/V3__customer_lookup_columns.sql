@@ -0,0 +1,21 @@
+-- Normalized customer keys for the order history endpoint (see CustomerKeys).
+
+ALTER TABLE orders ADD COLUMN customer_email_normalized VARCHAR(255);
+ALTER TABLE orders ADD COLUMN customer_phone_normalized VARCHAR(32);
+ALTER TABLE orders_archive ADD COLUMN customer_email_normalized VARCHAR(255);
+ALTER TABLE orders_archive ADD COLUMN customer_phone_normalized VARCHAR(32);
+
+UPDATE orders SET customer_email_normalized = LOWER(TRIM(customer_email))
+WHERE customer_email IS NOT NULL AND TRIM(customer_email) <> '';
+UPDATE orders SET customer_phone_normalized = REGEXP_REPLACE(customer_phone, '[^0-9]', '')
+WHERE customer_phone IS NOT NULL;
+UPDATE orders_archive SET customer_email_normalized = LOWER(TRIM(customer_email))
+WHERE customer_email IS NOT NULL AND TRIM(customer_email) <> '';
+UPDATE orders_archive SET customer_phone_normalized = REGEXP_REPLACE(customer_phone, '[^0-9]', '')
+WHERE customer_phone IS NOT NULL;
+
+-- Keyset pagination: WHERE key = ? AND id < ? ORDER BY id DESC
+CREATE INDEX idx_orders_customer_email_norm ON orders (customer_email_normalized, id);
+CREATE INDEX idx_orders_customer_phone_norm ON orders (customer_phone_normalized, id);
+CREATE INDEX idx_orders_archive_customer_email_norm ON orders_archive (customer_email_normalized, id);
+CREATE INDEX idx_orders_archive_customer_phone_norm ON orders_archive (customer_phone_normalized, id);
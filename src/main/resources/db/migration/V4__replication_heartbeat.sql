@@ -0,0 +1,8 @@
+-- Written by the primary, read back from each replica to measure replication lag (see ReplicaLagMonitor).
+
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL PRIMARY KEY,
+    beat_millis BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_millis) VALUES (1, 0);
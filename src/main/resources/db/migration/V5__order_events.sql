@@ -0,0 +1,17 @@
+-- Durable queue of order lifecycle events, written in the same transaction as the order (see OrderPipelineService).
+-- No foreign key to orders: finished orders are moved to the archive tables independently of their events.
+
+CREATE TABLE order_events (
+    id           BIGINT        NOT NULL AUTO_INCREMENT,
+    order_id     BIGINT        NOT NULL,
+    event_type   VARCHAR(32)   NOT NULL,
+    status       VARCHAR(32)   NOT NULL,
+    attempts     INT           NOT NULL,
+    available_at DATETIME(6)   NOT NULL,
+    last_error   VARCHAR(1000),
+    created_at   DATETIME(6)   NOT NULL,
+    updated_at   DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_order_events_status_available ON order_events (status, available_at, id);
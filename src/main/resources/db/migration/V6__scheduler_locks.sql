@@ -0,0 +1,8 @@
+-- Lease-based locks so a scheduled job runs on one node at a time (see SchedulerLockService).
+
+CREATE TABLE scheduler_locks (
+    name         VARCHAR(64)  NOT NULL,
+    locked_until DATETIME(6)  NOT NULL,
+    locked_by    VARCHAR(255) NOT NULL,
+    PRIMARY KEY (name)
+);
@@ -0,0 +1,2 @@
+-- Catalog version for conditional GETs: SELECT COUNT(*), MAX(updated_at) FROM products
+CREATE INDEX idx_products_updated_at ON products (updated_at);
@@ -0,0 +1,2 @@
+-- Keyset-paged streaming of orders by status: WHERE status = ? AND id > ? ORDER BY id
+CREATE INDEX idx_orders_status_id ON orders (status, id);
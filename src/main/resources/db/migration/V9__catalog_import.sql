@@ -0,0 +1,26 @@
+-- Supplier SKU as the natural key for catalog imports (upserted with INSERT ... ON DUPLICATE KEY UPDATE).
+-- Nullable: products created through the API don't need one. Unique indexes allow multiple NULLs.
+
+ALTER TABLE products ADD COLUMN sku VARCHAR(64);
+
+CREATE UNIQUE INDEX uk_products_sku ON products (sku);
+
+-- Catalog import jobs (see CatalogImportService). rows_processed is the number of input records
+-- already committed, so a job restarted after a crash skips them and carries on.
+
+CREATE TABLE import_jobs (
+    id             BIGINT        NOT NULL AUTO_INCREMENT,
+    format         VARCHAR(32)   NOT NULL,
+    status         VARCHAR(32)   NOT NULL,
+    file_path      VARCHAR(1000) NOT NULL,
+    rows_processed BIGINT        NOT NULL,
+    rows_upserted  BIGINT        NOT NULL,
+    rows_rejected  BIGINT        NOT NULL,
+    last_error     VARCHAR(1000),
+    created_at     DATETIME(6)   NOT NULL,
+    updated_at     DATETIME(6),
+    finished_at    DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_import_jobs_status ON import_jobs (status);
@@ -0,0 +1,97 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.ImportJob;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the import job status transitions against the migrated schema, so their queries are parsed
+ * and executed by Hibernate rather than only compiled.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class ImportJobRepositoryTest {
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void claimAndReleaseOnlyFromTheExpectedStatus() {
+        Long id = newJob().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(jobRepository.claim(id, now)).isEqualTo(1);
+        assertThat(jobRepository.claim(id, now)).isZero();
+        assertThat(status(id)).isEqualTo(ImportJob.Status.RUNNING);
+
+        assertThat(jobRepository.release(id, now)).isEqualTo(1);
+        assertThat(jobRepository.release(id, now)).isZero();
+        assertThat(status(id)).isEqualTo(ImportJob.Status.PENDING);
+    }
+
+    @Test
+    void requeueStaleOnlyTouchesRunningJobsWithoutHeartbeat() {
+        Long id = newJob().getId();
+        LocalDateTime now = LocalDateTime.now();
+        jobRepository.claim(id, now.minusHours(1));
+
+        assertThat(jobRepository.requeueStale(now.minusHours(2), now)).isZero();
+        assertThat(jobRepository.requeueStale(now.minusMinutes(5), now)).isEqualTo(1);
+        assertThat(status(id)).isEqualTo(ImportJob.Status.PENDING);
+    }
+
+    @Test
+    void retryResumesOnlyFailedJobs() {
+        Long id = newJob().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(jobRepository.retry(id, now)).isZero();
+
+        jobRepository.finish(id, ImportJob.Status.FAILED, "boom", now);
+        assertThat(jobRepository.retry(id, now)).isEqualTo(1);
+
+        entityManager.clear();
+        ImportJob job = jobRepository.findById(id).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(ImportJob.Status.PENDING);
+        assertThat(job.getFinishedAt()).isNull();
+        assertThat(job.getLastError()).isEqualTo("boom");
+    }
+
+    @Test
+    void recordProgressAccumulatesCounts() {
+        Long id = newJob().getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        jobRepository.recordProgress(id, 100, 90, 10, null, now);
+        jobRepository.recordProgress(id, 200, 95, 5, "bad row", now);
+
+        entityManager.clear();
+        ImportJob job = jobRepository.findById(id).orElseThrow();
+        assertThat(job.getRowsProcessed()).isEqualTo(200);
+        assertThat(job.getRowsUpserted()).isEqualTo(185);
+        assertThat(job.getRowsRejected()).isEqualTo(15);
+        assertThat(job.getLastError()).isEqualTo("bad row");
+    }
+
+    private ImportJob newJob() {
+        return jobRepository.saveAndFlush(ImportJob.of(ImportJob.Format.CSV, "/tmp/catalog.csv"));
+    }
+
+    // Bulk updates bypass the persistence context, so read the row back fresh
+    private ImportJob.Status status(Long id) {
+        entityManager.clear();
+        return jobRepository.findById(id).orElseThrow().getStatus();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.OrderEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the order event queue queries against the migrated schema, so they are parsed and executed
+ * by Hibernate rather than only compiled.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class OrderEventRepositoryTest {
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void dispatchableEventsArePendingAndAvailable() {
+        LocalDateTime now = LocalDateTime.now();
+        Long ready = newEvent(1L, null).getId();
+        newEvent(2L, now.plusMinutes(5));
+        Long claimed = newEvent(3L, null).getId();
+        eventRepository.claim(claimed, now);
+
+        assertThat(eventRepository.findDispatchableIds(now.plusSeconds(1), PageRequest.of(0, 10)))
+                .containsExactly(ready);
+    }
+
+    @Test
+    void claimAndReleaseOnlyFromTheExpectedStatus() {
+        Long id = newEvent(1L, null).getId();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(eventRepository.claim(id, now)).isEqualTo(1);
+        assertThat(eventRepository.claim(id, now)).isZero();
+        assertThat(status(id)).isEqualTo(OrderEvent.Status.IN_PROGRESS);
+
+        assertThat(eventRepository.release(id, now)).isEqualTo(1);
+        assertThat(eventRepository.release(id, now)).isZero();
+        assertThat(status(id)).isEqualTo(OrderEvent.Status.PENDING);
+    }
+
+    @Test
+    void requeueStaleOnlyTouchesEventsInProgressTooLong() {
+        Long id = newEvent(1L, null).getId();
+        LocalDateTime now = LocalDateTime.now();
+        eventRepository.claim(id, now.minusHours(1));
+
+        assertThat(eventRepository.requeueStale(now.minusHours(2), now)).isZero();
+        assertThat(eventRepository.requeueStale(now.minusMinutes(5), now)).isEqualTo(1);
+        assertThat(status(id)).isEqualTo(OrderEvent.Status.PENDING);
+    }
+
+    @Test
+    void deleteDoneBeforeKeepsOtherStatusesAndRecentEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        OrderEvent done = newEvent(1L, null);
+        done.setStatus(OrderEvent.Status.DONE);
+        eventRepository.saveAndFlush(done);
+        Long pending = newEvent(2L, null).getId();
+
+        assertThat(eventRepository.deleteDoneBefore(now.minusHours(1))).isZero();
+        assertThat(eventRepository.deleteDoneBefore(now.plusHours(1))).isEqualTo(1);
+
+        entityManager.clear();
+        assertThat(eventRepository.findAll()).extracting(OrderEvent::getId).containsExactly(pending);
+    }
+
+    private OrderEvent newEvent(Long orderId, LocalDateTime availableAt) {
+        OrderEvent event = OrderEvent.of(orderId, OrderEvent.EventType.ORDER_CREATED);
+        event.setAvailableAt(availableAt);
+        return eventRepository.saveAndFlush(event);
+    }
+
+    // Bulk updates bypass the persistence context, so read the row back fresh
+    private OrderEvent.Status status(Long id) {
+        entityManager.clear();
+        return eventRepository.findById(id).orElseThrow().getStatus();
+    }
+}
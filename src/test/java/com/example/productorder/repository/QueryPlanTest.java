@@ -0,0 +1,142 @@
+package com.example.productorder.repository;
+
+import com.example.productorder.model.Order;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN on the SQL Hibernate generates for the hot finders and checks that each one is
+ * answered from an index rather than a table scan. Uses the test profile (H2 in MySQL mode), so
+ * the schema comes from the same Flyway migrations as production.
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.productorder.repository.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class QueryPlanTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 0, 0);
+    // Paged finders render "offset ? rows fetch first ? rows only", so both are bound after the query's own
+    // parameters
+    private static final int OFFSET = 0;
+    private static final int PAGE = 50;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void findByStatusUsesStatusIndex() {
+        String plan = explain(() -> orderRepository.findByStatus(Order.OrderStatus.PENDING), "PENDING");
+
+        assertUsesIndex(plan, "IDX_ORDERS_STATUS_");
+    }
+
+    @Test
+    void statusKeysetPageUsesStatusIdIndex() {
+        String plan = explain(() -> orderRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                Order.OrderStatus.PENDING, 0L, PageRequest.of(0, PAGE)), "PENDING", 0L, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_STATUS_ID");
+    }
+
+    @Test
+    void staleStatusLookupUsesStatusCreatedAtIndex() {
+        String plan = explain(() -> orderRepository.findByStatusCreatedBeforeForUpdate(
+                Order.OrderStatus.PENDING, NOW, PageRequest.of(0, PAGE)), "PENDING", NOW, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_STATUS_CREATED_AT");
+    }
+
+    @Test
+    void archiveCandidatesUseStatusIndex() {
+        String plan = explain(() -> orderRepository.findIdsForArchive(
+                List.of(Order.OrderStatus.DELIVERED, Order.OrderStatus.CANCELLED), NOW, PageRequest.of(0, PAGE)),
+                "DELIVERED", "CANCELLED", NOW, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_STATUS_");
+    }
+
+    @Test
+    void topSellingProductsUseCreatedAtIndex() {
+        String plan = explain(() -> orderRepository.findTopSellingProductIds(NOW, PageRequest.of(0, PAGE)),
+                NOW, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_CREATED_AT");
+    }
+
+    @Test
+    void customerEmailLookupUsesNormalizedEmailIndex() {
+        String plan = explain(() -> orderRepository.findByCustomerEmailNormalizedAndIdLessThanOrderByIdDesc(
+                "a@example.com", Long.MAX_VALUE, PageRequest.of(0, PAGE)),
+                "a@example.com", Long.MAX_VALUE, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_CUSTOMER_EMAIL_NORM");
+    }
+
+    @Test
+    void customerPhoneLookupUsesNormalizedPhoneIndex() {
+        String plan = explain(() -> orderRepository.findByCustomerPhoneNormalizedAndIdLessThanOrderByIdDesc(
+                "0900000000", Long.MAX_VALUE, PageRequest.of(0, PAGE)),
+                "0900000000", Long.MAX_VALUE, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_ORDERS_CUSTOMER_PHONE_NORM");
+    }
+
+    @Test
+    void bestSellersUseQuantitySoldIndex() {
+        String plan = explain(() -> productSalesRepository.findAllByOrderByQuantitySoldDesc(PageRequest.of(0, PAGE)),
+                OFFSET, PAGE);
+
+        assertUsesIndex(plan, "IDX_PRODUCT_SALES_QUANTITY_SOLD");
+    }
+
+    @Test
+    void skuLookupUsesUniqueSkuIndex() {
+        String plan = explain(() -> productRepository.findBySkuIn(List.of("SKU-1", "SKU-2")), "SKU-1", "SKU-2");
+
+        assertUsesIndex(plan, "UK_PRODUCTS_SKU");
+    }
+
+    @Test
+    void productKeysetPageUsesPrimaryKey() {
+        String plan = explain(() -> productRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, PAGE)),
+                0L, OFFSET, PAGE);
+
+        assertUsesIndex(plan, "PRIMARY_KEY");
+    }
+
+    // Runs the finder, then EXPLAINs the SELECT it issued with the same parameters bound
+    private String explain(Runnable finder, Object... args) {
+        SqlCapture.clear();
+        finder.run();
+        String sql = SqlCapture.lastSelect();
+        assertThat(sql.chars().filter(c -> c == '?').count())
+                .as("bind parameters in %s", sql)
+                .isEqualTo(args.length);
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args));
+    }
+
+    private static void assertUsesIndex(String plan, String indexName) {
+        assertThat(plan).as("query plan").containsIgnoringCase(indexName);
+        assertThat(plan).as("query plan").doesNotContainIgnoringCase(".tableScan");
+    }
+}
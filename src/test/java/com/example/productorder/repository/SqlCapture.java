@@ -0,0 +1,42 @@
+package com.example.productorder.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Hibernate statement inspector that records the SQL generated for repository calls, so tests
+ * can EXPLAIN exactly what the finders send to the database.
+ */
+public class SqlCapture implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.add(sql);
+        }
+        return sql;
+    }
+
+    public static void clear() {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+    }
+
+    public static String lastSelect() {
+        synchronized (STATEMENTS) {
+            for (int i = STATEMENTS.size() - 1; i >= 0; i--) {
+                String sql = STATEMENTS.get(i);
+                if (sql.stripLeading().toLowerCase(Locale.ROOT).startsWith("select")) {
+                    return sql;
+                }
+            }
+        }
+        throw new IllegalStateException("No SELECT captured");
+    }
+}
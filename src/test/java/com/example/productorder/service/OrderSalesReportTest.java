@@ -0,0 +1,89 @@
+package com.example.productorder.service;
+
+import com.example.productorder.dto.OrderRequestDTO;
+import com.example.productorder.dto.OrderResponseDTO;
+import com.example.productorder.model.Product;
+import com.example.productorder.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Places an order through the full application context on the test profile (H2 in MySQL mode) and
+ * reads the report rows it updated back from the database.
+ */
+@SpringBootTest(properties = {
+        "app.order-pipeline.enabled=false",
+        "app.order-reaper.enabled=false",
+        "app.catalog-import.enabled=false",
+        "app.cache.warmup.enabled=false",
+        // No Elasticsearch in tests: product search falls back to the database
+        "spring.data.elasticsearch.repositories.enabled=false"
+})
+@ActiveProfiles("test")
+class OrderSalesReportTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void placingAnOrderUpdatesDailyAndProductSales() {
+        Product product = new Product();
+        product.setName("Report test product");
+        product.setDescription("Used by OrderSalesReportTest");
+        product.setPrice(new BigDecimal("10.50"));
+        product.setStock(100);
+        product = productRepository.save(product);
+
+        LocalDate today = LocalDate.now();
+        Map<String, Object> before = dailySales(today);
+
+        // Two lines of the same product become one item of quantity 3
+        OrderResponseDTO order = orderService.createOrder(new OrderRequestDTO("Report Tester", "report@example.com",
+                null, List.of(new OrderRequestDTO.OrderItemDTO(product.getId(), 2),
+                new OrderRequestDTO.OrderItemDTO(product.getId(), 1))));
+
+        BigDecimal total = new BigDecimal("31.50");
+        assertThat(order.getTotalAmount()).isEqualByComparingTo(total);
+
+        Map<String, Object> after = dailySales(today);
+        assertThat(count(after) - count(before)).isEqualTo(1);
+        assertThat(revenue(after).subtract(revenue(before))).isEqualByComparingTo(total);
+
+        Map<String, Object> productSales = jdbcTemplate.queryForMap(
+                "SELECT product_name, quantity_sold, revenue FROM product_sales WHERE product_id = ?", product.getId());
+        assertThat(productSales.get("PRODUCT_NAME")).isEqualTo("Report test product");
+        assertThat(((Number) productSales.get("QUANTITY_SOLD")).longValue()).isEqualTo(3);
+        assertThat((BigDecimal) productSales.get("REVENUE")).isEqualByComparingTo(total);
+    }
+
+    // Other tests may share the in-memory database, so the day's row is compared before and after
+    private Map<String, Object> dailySales(LocalDate date) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT order_count, revenue FROM daily_sales WHERE sales_date = ?", date);
+        return rows.isEmpty() ? Map.of("ORDER_COUNT", 0L, "REVENUE", BigDecimal.ZERO) : rows.get(0);
+    }
+
+    private static long count(Map<String, Object> row) {
+        return ((Number) row.get("ORDER_COUNT")).longValue();
+    }
+
+    private static BigDecimal revenue(Map<String, Object> row) {
+        return (BigDecimal) row.get("REVENUE");
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.productorder.service;
+
+import com.example.productorder.cache.CacheLoaderRegistry;
+import com.example.productorder.model.Product;
+import com.example.productorder.repository.ProductBulkRepository;
+import com.example.productorder.repository.ProductRepository;
+import com.example.productorder.resilience.DependencyRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * N callers released together on the same product id (or search term) must cost one repository
+ * load, with the other N-1 answered from that load and counted by the single-flight meters.
+ */
+class ProductServiceSingleFlightTest {
+
+    private static final int CALLERS = 16;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private ProductService productService;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        productService = new ProductService(productRepository, mock(ProductBulkRepository.class),
+                new SingleFlight(meterRegistry), null, mock(CacheLoaderRegistry.class),
+                mock(DependencyRegistry.class), mock(ApplicationEventPublisher.class));
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLookupsOfOneIdShareOneLoad() throws Exception {
+        Product product = new Product();
+        product.setId(42L);
+        when(productRepository.findById(42L)).thenAnswer(invocation -> {
+            awaitSharedCallers("product");
+            return Optional.of(product);
+        });
+
+        List<Product> results = runConcurrently(() -> productService.getProductById(42L));
+
+        assertThat(results).hasSize(CALLERS).allSatisfy(result -> assertThat(result).isSameAs(product));
+        verify(productRepository, times(1)).findById(42L);
+        assertSingleLoadShared("product");
+    }
+
+    @Test
+    void concurrentSearchesForOneTermShareOneLoad() throws Exception {
+        List<Product> matches = List.of(new Product());
+        when(productRepository.findByNameContainingIgnoreCase(anyString())).thenAnswer(invocation -> {
+            awaitSharedCallers("product-search");
+            return matches;
+        });
+
+        // No Elasticsearch repository is wired, so every call goes to the database search
+        List<List<Product>> results = runConcurrently(() ->
+                productService.searchProductsByName(ProductService.searchTerm(" Laptop ")));
+
+        assertThat(results).hasSize(CALLERS).allSatisfy(result -> assertThat(result).isSameAs(matches));
+        verify(productRepository, times(1)).findByNameContainingIgnoreCase("laptop");
+        assertSingleLoadShared("product-search");
+    }
+
+    // Releases all callers at once and collects their results
+    private <T> List<T> runConcurrently(Callable<T> call) throws Exception {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return call.call();
+            }));
+        }
+        assertThat(ready.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        start.countDown();
+
+        List<T> results = new ArrayList<>();
+        for (Future<T> future : futures) {
+            results.add(future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    // Holds the load open until every other caller has joined it (or the timeout passes, in which
+    // case the assertions below report how many did)
+    private void awaitSharedCallers(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (shared(name) < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private double shared(String name) {
+        return meterRegistry.get("app.single_flight.shared").tag("name", name).counter().count();
+    }
+
+    private void assertSingleLoadShared(String name) {
+        assertThat(meterRegistry.get("app.single_flight.loads").tag("name", name).counter().count())
+                .isEqualTo(1);
+        assertThat(shared(name)).isEqualTo(CALLERS - 1);
+        var waiters = meterRegistry.get("app.single_flight.waiters").tag("name", name).summary();
+        assertThat(waiters.count()).isEqualTo(1);
+        assertThat(waiters.totalAmount()).isEqualTo(CALLERS - 1);
+    }
+}